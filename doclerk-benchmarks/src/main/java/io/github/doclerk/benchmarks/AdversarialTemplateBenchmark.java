@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.ExpressionContext;
+import io.github.doclerk.core.expression.TemplateCache;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse and evaluation cost of pathological templates of growing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdversarialTemplateBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private final TemplateCache noCache = new TemplateCache(0);
+    private ExpressionContext context;
+    private String deepNesting;
+    private String longLiteral;
+    private String manyArgs;
+    private TemplateStringExpression deepNestingTemplate;
+    private TemplateStringExpression longLiteralTemplate;
+    private TemplateStringExpression manyArgsTemplate;
+
+    @Setup
+    public void setup() {
+        context = PlanFixture.context();
+
+        // $upper($upper(...$upper(&appName)...))
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append("$upper(");
+        }
+        sb.append("&appName");
+        for (int i = 0; i < size; i++) {
+            sb.append(')');
+        }
+        deepNesting = sb.toString();
+
+        // size sentences of text, with a single variable at the end
+        sb.setLength(0);
+        for (int i = 0; i < size; i++) {
+            sb.append("Vérifier que la page est affichée et que le menu est accessible, sans erreur, depuis l'accueil. ");
+        }
+        sb.append("&appName");
+        longLiteral = sb.toString();
+
+        // $join(", ", "item0", &appName, "item2", ...)
+        sb.setLength(0);
+        sb.append("$join(\", \"");
+        for (int i = 0; i < size; i++) {
+            sb.append(", ").append(i % 2 == 0 ? "\"item" + i + "\"" : "&appName");
+        }
+        sb.append(')');
+        manyArgs = sb.toString();
+
+        deepNestingTemplate = new TemplateStringExpression(deepNesting, context);
+        longLiteralTemplate = new TemplateStringExpression(longLiteral, context);
+        manyArgsTemplate = new TemplateStringExpression(manyArgs, context);
+    }
+
+    @Benchmark
+    public TemplateStringExpression parseDeepNesting() {
+        return new TemplateStringExpression(deepNesting, context, noCache);
+    }
+
+    @Benchmark
+    public TemplateStringExpression parseLongLiteral() {
+        return new TemplateStringExpression(longLiteral, context, noCache);
+    }
+
+    @Benchmark
+    public TemplateStringExpression parseManyArgs() {
+        return new TemplateStringExpression(manyArgs, context, noCache);
+    }
+
+    @Benchmark
+    public String evaluateDeepNesting() {
+        return deepNestingTemplate.evaluate();
+    }
+
+    @Benchmark
+    public String evaluateLongLiteral() {
+        return longLiteralTemplate.evaluate();
+    }
+
+    @Benchmark
+    public String evaluateManyArgs() {
+        return manyArgsTemplate.evaluate();
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.TemplateCompiler;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evaluation of the same templates in two contexts in turn, compared to a single one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-D" + TemplateCompiler.THRESHOLD_PROPERTY + "=0")
+public class AlternatingContextBenchmark {
+
+    private TemplateStringExpression[] first;
+    private TemplateStringExpression[] second;
+
+    @Setup
+    public void setup() {
+        first = templates();
+        second = templates();
+    }
+
+    private static TemplateStringExpression[] templates() {
+        final TemplateStringExpression[] templates = new TemplateStringExpression[PlanFixture.TEMPLATES.length];
+        // A context, and macros, of its own
+        final MapContext context = PlanFixture.context();
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = new TemplateStringExpression(PlanFixture.TEMPLATES[i], context);
+        }
+        return templates;
+    }
+
+    @Benchmark
+    public void singleContext(Blackhole bh) {
+        for (int i = 0; i < first.length; i++) {
+            bh.consume(first[i].evaluate());
+            bh.consume(first[i].evaluate());
+        }
+    }
+
+    @Benchmark
+    public void alternatingContexts(Blackhole bh) {
+        for (int i = 0; i < first.length; i++) {
+            bh.consume(first[i].evaluate());
+            bh.consume(second[i].evaluate());
+        }
+    }
+
+}
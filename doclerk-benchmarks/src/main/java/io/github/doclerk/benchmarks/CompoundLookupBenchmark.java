@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.ExpressionContext;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.StringExpression;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import io.github.doclerk.core.model.DocRoot;
+import io.github.doclerk.core.model.std.BlankDocRoot;
+import io.github.doclerk.core.model.std.CompoundDocRoot;
+import io.github.doclerk.core.model.std.CompoundDocRoot.DocRootMergePolicy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Variable lookup cost through a {@link CompoundDocRoot}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompoundLookupBenchmark {
+
+    @Param({"2", "8"})
+    public int roots;
+
+    private ExpressionContext context;
+    private String lastRootKey;
+    private Expression<String> template;
+
+    @Setup
+    public void setup() {
+        final DocRoot[] all = new DocRoot[roots];
+        // The plan properties in the first root, a few unrelated ones in each of the others
+        all[0] = root(PlanFixture.context());
+        for (int i = 1; i < roots; i++) {
+            final Map<String, Expression<?>> properties = new HashMap<>();
+            for (int j = 0; j < 16; j++) {
+                properties.put("root" + i + "prop" + j, new StringExpression("value " + j));
+            }
+            all[i] = root(new MapContext(null, properties, Collections.<String, FunctionPrototype<?>>emptyMap()));
+        }
+        final DocRootMergePolicy policy = new DocRootMergePolicy((a, b) -> a, (a, b) -> a, (a, b) -> a);
+        context = new CompoundDocRoot(policy, all[0], all[1], Arrays.copyOfRange(all, 2, all.length)).getExpressionContext();
+        lastRootKey = "root" + (roots - 1) + "prop0";
+        template = new TemplateStringExpression("Naviguer vers &appUrl puis ouvrir &appName", context);
+    }
+
+    private static DocRoot root(ExpressionContext context) {
+        return new BlankDocRoot() {
+            @Override
+            public ExpressionContext getExpressionContext() {
+                return context;
+            }
+        };
+    }
+
+    @Benchmark
+    public Expression<String> lookupInLastRoot() {
+        return context.getVar(lastRootKey);
+    }
+
+    @Benchmark
+    public Expression<String> lookupInFirstRoot() {
+        return context.getVar("appUrl");
+    }
+
+    @Benchmark
+    public Optional<Expression<String>> lookupMissing() {
+        return context.findVar("undefined");
+    }
+
+    @Benchmark
+    public String evaluateTemplate() {
+        return template.evaluate();
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.ExpressionParser;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of {@link ExpressionParser#parseExpression(String, Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionParseBenchmark {
+
+    private static final String[] CORPUS = {
+        "\"Administration\"",
+        "\"Le compte \\\"admin\\\" doit exister\"",
+        "&appUrl",
+        "$display(\"Administration\")",
+        "$menu(\"Gestion\", \"Types de document\")",
+        "$session(\"admin\", $menu(\"Gestion\", \"Types\"), &appUrl)",
+    };
+
+    private final ExpressionParser parser = new ExpressionParser(PlanFixture.context());
+
+    @Benchmark
+    public void parseCorpus(Blackhole bh) {
+        for (String expression : CORPUS) {
+            bh.consume(parser.parseExpression(expression, String.class));
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.StringExpression;
+import io.github.doclerk.core.expression.TemplateFunction;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Macro invocation cost, modelled on the test plan macros.
+ * <p>
+ * Run with {@code -prof gc} to get the allocation rate per call
+ * ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MacroCallBenchmark {
+
+    private MapContext context;
+    private Expression<String> singleCall;
+    private Expression<String> nestedCall;
+
+    @Setup
+    public void setup() {
+        Map<String, Expression<?>> properties = new HashMap<>();
+        properties.put("appUrl", new StringExpression("http://url.to/app/"));
+        Map<String, FunctionPrototype<?>> macros = new HashMap<>();
+        macros.put("display", macro("page", "La page \"&page\" est affichée"));
+        macros.put("login", macro("user", "Se connecter à l'application en tant que &user"));
+        macros.put("menu", macro(Arrays.asList("section", "item"), "Menu > &section > &item"));
+        macros.put("browse", macro("url", "Naviguer vers l'url <&url>"));
+        macros.put("open", macro(Arrays.asList("section", "item"), "$menu(&section, &item), puis $display(&item)"));
+        macros.put("session", macro(Arrays.asList("user", "section", "item"), "$browse(&appUrl). $login(&user). $open(&section, &item)"));
+        context = new MapContext(null, properties, macros);
+
+        singleCall = new TemplateStringExpression("$display(\"Administration\")", context);
+        nestedCall = new TemplateStringExpression("$session(\"admin\", \"Gestion\", \"Types de documents\")", context);
+    }
+
+    private FunctionPrototype<String> macro(String arg, String body) {
+        return macro(Collections.singletonList(arg), body);
+    }
+
+    private FunctionPrototype<String> macro(List<String> args, String body) {
+        return new TemplateFunction("macro", args, body, () -> context);
+    }
+
+    @Benchmark
+    public String singleMacroCall() {
+        return singleCall.evaluate();
+    }
+
+    @Benchmark
+    public String nestedMacroCall() {
+        return nestedCall.evaluate();
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.TemplateCache;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+
+/**
+ * Prints the heap retained per step by the template fields of a large test plan,
+ * with each template parsed on its own and with the nodes shared by a
+ * {@link TemplateCache}.
+ */
+public class ModelMemoryReport {
+
+    private static final int DEFAULT_STEPS = 20000;
+
+    public static void main(String... args) throws InterruptedException {
+        final int steps = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STEPS;
+        final MapContext context = new MapContext(null, Collections.emptyMap(), Collections.emptyMap());
+
+        // A cache of no capacity neither keeps templates nor interns nodes
+        final long unshared = retained(steps, context, new TemplateCache(0));
+        final TemplateCache cache = new TemplateCache(steps * 3);
+        final long shared = retained(steps, context, cache);
+
+        System.out.printf("steps            : %d%n", steps);
+        System.out.printf("template cache   : %s%n", cache);
+        System.out.printf("per-template AST : %d bytes, %d per step%n", unshared, unshared / steps);
+        System.out.printf("shared AST       : %d bytes, %d per step%n", shared, shared / steps);
+    }
+
+    /**
+     * @return the heap retained by the template fields of all the steps
+     */
+    private static long retained(int steps, MapContext context, TemplateCache cache) throws InterruptedException {
+        final long before = usedHeap();
+        final Expression<?>[][] fields = new Expression<?>[steps][];
+        for (int i = 0; i < steps; i++) {
+            fields[i] = new Expression<?>[]{
+                new TemplateStringExpression("Step " + i + ": $login(&user), then $menu(\"Administration\", \"Page " + (i % 50) + "\")", context, cache),
+                new TemplateStringExpression("The page \"&page\" of &appUrl is displayed (" + i + ")", context, cache),
+                new TemplateStringExpression("$check(&user, \"&expected\") for item " + i, context, cache)
+            };
+        }
+        final long after = usedHeap();
+        if (fields[steps - 1][0] == null) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.ExpressionContext;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.StringExpression;
+import io.github.doclerk.core.expression.TemplateFunction;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Properties and macros modelled on a real test plan, shared by the benchmarks.
+ */
+final class PlanFixture {
+
+    /**
+     * Templates modelled on real test plan fields.
+     */
+    static final String[] TEMPLATES = {
+        "Test 1 : Connection à l'application (admin)",
+        "Vérifier qu'il est possible de se connecter avec un profil _administrateur_.",
+        "$browse(&appUrl)",
+        "$login(\"admin\")",
+        "$display(\"Administration\")",
+        "$menu(\"Gestion\", \"Types de document\")",
+        "Section &appName",
+        "$session(\"admin\", \"Gestion\", \"Types\") puis $display(\"Tableau de bord\")",
+    };
+
+    private PlanFixture() {
+    }
+
+    /**
+     * @return a root context holding the properties and macros of the plan
+     */
+    static MapContext context() {
+        final ExpressionContext[] root = new ExpressionContext[1];
+        final Map<String, Expression<?>> properties = new HashMap<>();
+        properties.put("appUrl", new StringExpression("http://url.to/app/"));
+        properties.put("appName", new StringExpression("MyApp"));
+        final Map<String, FunctionPrototype<?>> macros = new HashMap<>();
+        macros.put("display", macro(root, "display", Arrays.asList("page"), "La page \"&page\" est affichée"));
+        macros.put("login", macro(root, "login", Arrays.asList("user"), "Se connecter à l'application en tant que &user"));
+        macros.put("menu", macro(root, "menu", Arrays.asList("section", "item"), "Menu > &section > &item"));
+        macros.put("browse", macro(root, "browse", Arrays.asList("url"), "Naviguer vers l'url <&url>"));
+        macros.put("open", macro(root, "open", Arrays.asList("section", "item"), "$menu(&section, &item), puis $display(&item)"));
+        macros.put("session", macro(root, "session", Arrays.asList("user", "section", "item"), "$browse(&appUrl). $login(&user). $open(&section, &item)"));
+        final MapContext context = new MapContext(null, properties, macros);
+        root[0] = context;
+        return context;
+    }
+
+    private static FunctionPrototype<String> macro(ExpressionContext[] root, String name, List<String> args, String body) {
+        return new TemplateFunction(name, args, body, () -> root[0]);
+    }
+
+}
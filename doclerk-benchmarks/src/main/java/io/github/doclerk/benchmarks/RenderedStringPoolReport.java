@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.RenderedStringPool;
+import io.github.doclerk.core.expression.StringExpression;
+import io.github.doclerk.core.expression.TemplateFunction;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the heap retained by the rendered fields of a large test plan, with and
+ * without the {@link RenderedStringPool}.
+ */
+public class RenderedStringPoolReport {
+
+    private static final int DEFAULT_STEPS = 50000;
+
+    private static final String[] FIELDS = {
+        "$login(&user)",
+        "$menu(\"Administration\", &page)",
+        "$display(&page)",
+        "L'application est ouverte sur &appUrl"
+    };
+
+    private static MapContext context;
+
+    public static void main(String... args) throws InterruptedException {
+        final int steps = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STEPS;
+        Map<String, Expression<?>> properties = new HashMap<>();
+        properties.put("appUrl", new StringExpression("http://url.to/app/"));
+        Map<String, FunctionPrototype<?>> macros = new HashMap<>();
+        macros.put("display", macro(Collections.singletonList("page"), "La page \"&page\" est affichée"));
+        macros.put("login", macro(Collections.singletonList("user"), "Se connecter à l'application en tant que &user"));
+        macros.put("menu", macro(Arrays.asList("section", "item"), "Menu > &section > &item"));
+        context = new MapContext(null, properties, macros);
+
+        final long plain = retained(steps);
+        final RenderedStringPool pool = RenderedStringPool.enable();
+        final long pooled = retained(steps);
+        RenderedStringPool.disable();
+
+        System.out.printf("steps            : %d%n", steps);
+        System.out.printf("string pool      : %s%n", pool);
+        System.out.printf("without pool     : %d bytes, %d per step%n", plain, plain / steps);
+        System.out.printf("with pool        : %d bytes, %d per step%n", pooled, pooled / steps);
+    }
+
+    private static FunctionPrototype<String> macro(List<String> args, String body) {
+        return new TemplateFunction("macro", args, body, () -> context);
+    }
+
+    /**
+     * @return the heap retained by the rendered fields of all the steps
+     */
+    private static long retained(int steps) throws InterruptedException {
+        final long before = usedHeap();
+        final String[][] rendered = new String[steps][];
+        for (int i = 0; i < steps; i++) {
+            // Per-step variables, drawn from a few values as in real plans
+            final Map<String, Expression<?>> vars = new HashMap<>();
+            vars.put("user", new StringExpression("user" + (i % 5)));
+            vars.put("page", new StringExpression("Page " + (i % 40)));
+            final MapContext step = new MapContext(context, vars, null);
+            rendered[i] = new String[FIELDS.length];
+            for (int f = 0; f < FIELDS.length; f++) {
+                rendered[i][f] = new TemplateStringExpression(FIELDS[f], step).evaluate();
+            }
+        }
+        final long after = usedHeap();
+        if (rendered[steps - 1][0] == null) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of template evaluation through a {@link MapContext}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateEvaluationBenchmark {
+
+    private MapContext context;
+    private TemplateStringExpression[] templates;
+    private final StringBuilder buffer = new StringBuilder(1024);
+
+    @Setup
+    public void setup() {
+        context = PlanFixture.context();
+        templates = new TemplateStringExpression[PlanFixture.TEMPLATES.length];
+        for (int i = 0; i < templates.length; i++) {
+            templates[i] = new TemplateStringExpression(PlanFixture.TEMPLATES[i], context);
+        }
+    }
+
+    @Benchmark
+    public void evaluateCorpus(Blackhole bh) {
+        for (TemplateStringExpression template : templates) {
+            bh.consume(template.evaluate());
+        }
+    }
+
+    @Benchmark
+    public void streamCorpus(Blackhole bh) throws IOException {
+        buffer.setLength(0);
+        for (TemplateStringExpression template : templates) {
+            template.evaluateTo(buffer);
+        }
+        bh.consume(buffer);
+    }
+
+    @Benchmark
+    public void parseAndEvaluateCorpus(Blackhole bh) {
+        // A new template per field, as when a plan is loaded then rendered once
+        for (String source : PlanFixture.TEMPLATES) {
+            bh.consume(new TemplateStringExpression(source, context).evaluate());
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.benchmarks;
+
+import io.github.doclerk.core.expression.CompiledExpression;
+import io.github.doclerk.core.expression.TemplateCache;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Template parsing throughput, without cache, over a corpus modelled on test plan fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateParseBenchmark {
+
+    private static final String[] CORPUS = {
+        "Test 1 : Connection à l'application (admin)",
+        "Vérifier qu'il est possible de se connecter avec un profil _administrateur_.",
+        "Le compte utilisé doit faire partie d'un des sous-groupes de _GROUP\\_ADMIN_",
+        "$browse(&appUrl)",
+        "$iexplore()\n$login(\"<compte AD>\")",
+        "$display(\"Administration\")",
+        "$menu(\"Gestion\", \"Types de document\")",
+        "Dans le menu principal, sous la rubrique \"&section\"\nCliquer sur le lien \"&item\"",
+        "Section &appName",
+        "$session(\"admin\", $menu(\"Gestion\", \"Types\"), &appUrl) puis $display(\"Tableau de bord\")",
+    };
+
+    private final TemplateCache noCache = new TemplateCache(0);
+
+    @Benchmark
+    public void parseCorpus(Blackhole bh) {
+        for (String template : CORPUS) {
+            final CompiledExpression<String> compiled = noCache.get(template);
+            bh.consume(compiled);
+        }
+    }
+
+}
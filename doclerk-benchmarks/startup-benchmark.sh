@@ -0,0 +1,64 @@
+#!/bin/sh
+# Measures the wall-clock time of the cli-with-testplan sample, without and
+# with a class data sharing archive (see DOCLERK_CDS in doclerk.sh).
+#
+# usage: startup-benchmark.sh [runs]
+#
+# Needs a JDK 13+ and the modules installed (mvn install). Set JAVA_HOME to
+# pick the JDK.
+
+RUNS=${1:-5}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+SAMPLE="$ROOT/samples/cli-with-testplan"
+WORK="$ROOT/doclerk-benchmarks/target/startup"
+mkdir -p "$WORK"
+
+# The sample's modules, and their dependencies
+for module in mod-in-testplan mod-out-xlsxtemplate; do
+    mvn -B -q -f "$ROOT/modules/$module" dependency:build-classpath -Dmdep.outputFile="$WORK/$module.classpath" || exit 1
+done
+DOCLERK_CLASSPATH="$ROOT/modules/mod-out-xlsxtemplate/target/mod-out-xlsxtemplate-0.1.0-SNAPSHOT.jar:$(cat "$WORK/mod-in-testplan.classpath"):$(cat "$WORK/mod-out-xlsxtemplate.classpath")"
+export DOCLERK_CLASSPATH
+
+now() {
+    date +%s%N | cut -b1-13
+}
+
+# Runs the sample once and prints its duration in milliseconds
+run() {
+    start=$(now)
+    "$ROOT/doclerk.sh" --input-file "$SAMPLE/src/main/doclerk/doclerk.yml" --work-dir "$SAMPLE" > "$WORK/last-run.log" 2>&1 || {
+        echo "The sample failed, see $WORK/last-run.log" >&2
+        exit 1
+    }
+    echo $(($(now) - start))
+}
+
+# Runs the sample $RUNS times and prints the mean and best durations
+measure() {
+    total=0
+    best=
+    i=0
+    while [ $i -lt "$RUNS" ]; do
+        ms=$(run) || exit 1
+        total=$((total + ms))
+        if [ -z "$best" ] || [ "$ms" -lt "$best" ]; then
+            best=$ms
+        fi
+        i=$((i + 1))
+    done
+    echo "mean $((total / RUNS)) ms, best $best ms"
+}
+
+unset DOCLERK_CDS
+echo "cold     : $(measure)"
+
+DOCLERK_CDS="$WORK/doclerk.jsa"
+export DOCLERK_CDS
+rm -f "$DOCLERK_CDS"
+echo "training : $(run) ms"
+if [ ! -f "$DOCLERK_CDS" ]; then
+    echo "No archive was recorded: class data sharing archives need a JDK 13+" >&2
+    exit 1
+fi
+echo "warm     : $(measure)"
@@ -24,6 +24,10 @@ import java.util.concurrent.Callable;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.expression.FunctionResultCache;
+import io.github.doclerk.core.expression.Profiler;
+import io.github.doclerk.core.expression.RenderedStringPool;
+import io.github.doclerk.core.expression.TemplateCache;
 import io.github.doclerk.core.model.DocPart;
 import io.github.doclerk.core.model.DocRoot;
 import io.github.doclerk.core.model.std.BlankDocRoot;
@@ -35,17 +39,23 @@ import io.github.doclerk.core.module.DoclerkModule;
 import io.github.doclerk.core.module.DoclerkModuleInfo;
 import io.github.doclerk.core.module.HashMapModuleContext;
 import io.github.doclerk.core.module.ModuleContext;
+import io.github.doclerk.core.module.ModuleContextSnapshot;
+import io.github.doclerk.core.module.ModuleDescriptor;
 import io.github.doclerk.core.module.SystemModuleContext;
 import java.io.Reader;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import io.github.doclerk.core.exec.DoclerkExecution;
 import io.github.doclerk.core.exec.DoclerkModuleExecution;
+import io.github.doclerk.core.expression.Diagnostics;
 
 @Command(name = "doclerk", mixinStandardHelpOptions = true, version = "0.1.0",
         description = "Generates documents based on the supplied template and project metadata")
@@ -65,6 +75,21 @@ public class Doclerk implements Callable<Integer> {
     @Option(names = {"-F", "--no-fail"}, description = "fails silently")
     private static boolean noFail = false;
 
+    @Option(names = {"-d", "--diagnostics"}, description = "reports template errors as warnings instead of rendering them in the documents")
+    private boolean diagnostics = false;
+
+    @Option(names = {"-p", "--profile"}, paramLabel = "FILE", description = "profiles template evaluation, and writes the figures to the given JSON file")
+    private Path profileFile;
+
+    @Option(names = {"--profile-top"}, paramLabel = "N", description = "number of hot spots logged when profiling", defaultValue = "20")
+    private int profileTop;
+
+    @Option(names = {"-s", "--string-pool"}, description = "shares a single instance between identical rendered strings")
+    private boolean stringPool = false;
+
+    @Option(names = {"--scan-classpath"}, description = "finds modules by scanning the whole classpath, for modules built without the module index")
+    private boolean scanClasspath = false;
+
     public Doclerk() {
         this(Paths.get("doclerk.yaml"));
     }
@@ -104,51 +129,118 @@ public class Doclerk implements Callable<Integer> {
         options.put(ModuleContextKeys.WORK_DIR_URI, sanitizeUri(workDir));
         logger.info("== Work directory\t: {}", options.get(ModuleContextKeys.WORK_DIR_URI));
 
-        final Map<String, DoclerkModule> foundModules = DoclerkModule.findAll().stream()
-                .collect(Collectors.toMap(
-                        m -> m.moduleInfo().moduleName(),
-                        m -> m
-                ));
+        // Modules are only described here: they are instantiated when an execution runs them
+        final Map<String, ModuleDescriptor> foundModules = new HashMap<>();
+        for (ModuleDescriptor descriptor : DoclerkModule.findDescriptors(scanClasspath || Boolean.getBoolean(DoclerkModule.SCAN_CLASSPATH_PROPERTY))) {
+            final ModuleDescriptor hidden = foundModules.putIfAbsent(descriptor.moduleName(), descriptor);
+            if (hidden != null) {
+                logger.warn("== Module {} of {} is hidden by {}", descriptor.moduleName(), descriptor.getModuleClass().getName(), hidden.getModuleClass().getName());
+            }
+        }
         logger.info("== Found modules\t:");
-        foundModules.values().stream().map(DoclerkModule::moduleInfo).map(DoclerkModuleInfo::displayName).sorted().forEachOrdered(dn -> logger.info("==\t{}", dn));
-        final ModuleContext env = new EnvironmentModuleContext();
-        final ModuleContext sys = new SystemModuleContext();
-        final ModuleContext opt = new HashMapModuleContext(options);
+        foundModules.values().stream().map(DoclerkModuleInfo::displayName).sorted().forEachOrdered(dn -> logger.info("==\t{}", dn));
+        // Merged once: each module run only adds its own parameters
+        final ModuleContext base = ModuleContextSnapshot.of(new EnvironmentModuleContext(), new SystemModuleContext(), new HashMapModuleContext(options));
 
         DoclerkExecutionPlan dep;
         try (Reader reader = Files.newBufferedReader(inputFile)) {
             dep = new YamlExecutionPlan(reader);
         }
+        final Map<String, DoclerkModule> openModules = open(dep, foundModules, base);
+        final Profiler profiler = profileFile != null ? Profiler.start() : null;
+        final RenderedStringPool pool = stringPool ? RenderedStringPool.enable() : null;
         int failCount = 0;
-        for (DoclerkExecution exec : dep.getExecutions()) {
-            try {
-                DocRoot docRoot = new BlankDocRoot();
-                for (DoclerkModuleExecution dme : exec.getModuleExecutions()) {
-                    final String modName = dme.getModuleName();
-                    final Map<String, String> modParams = dme.getParameters();
-                    DoclerkModule mod = foundModules.get(modName);
-                    if (mod != null) {
-                        docRoot = new CompoundDocRoot(new DocRootMergePolicy(
-                                (a, b) -> a + "," + b,
-                                (a, b) -> a + "-" + b,
-                                (a, b) -> {
-                                    Set<DocPart> r = new LinkedHashSet<>(a);
-                                    r.addAll(b);
-                                    return r;
-                                }),
-                                docRoot,
-                                mod.withContext(env).withContext(sys).withContext(opt).withContext(new HashMapModuleContext(modParams)).run(docRoot));
+        try {
+            for (DoclerkExecution exec : dep.getExecutions()) {
+                try {
+                    if (diagnostics) {
+                        final Diagnostics collected = new Diagnostics();
+                        collected.collect(() -> run(exec, foundModules, openModules));
+                        collected.getErrors().forEach(error -> logger.warn("== Template error\t: {}", error));
                     } else {
-                        throw new DoclerkException("Module not found: " + modName);
+                        run(exec, foundModules, openModules);
                     }
+                } catch (Exception e) {
+                    failCount++;
                 }
-            } catch (Exception e) {
-                failCount++;
             }
+        } finally {
+            close(openModules);
+        }
+        if (profiler != null) {
+            Profiler.stop();
+            logger.info("== Profile\t:\n{}", profiler.report(profileTop));
+            profiler.writeJson(profileFile);
+            logger.info("== Profile file\t: {}", profileFile.toAbsolutePath());
+        }
+        if (pool != null) {
+            RenderedStringPool.disable();
+            logger.info("== String pool\t: {}", pool);
         }
+        logger.info("== Template cache\t: {}", TemplateCache.getInstance());
+        logger.info("== Function cache\t: {}", FunctionResultCache.getInstance());
         return failCount;
     }
 
+    /**
+     * Instantiates and opens the modules the plan uses, each once for all the executions.
+     */
+    private Map<String, DoclerkModule> open(DoclerkExecutionPlan dep, Map<String, ModuleDescriptor> foundModules, ModuleContext base) {
+        final Map<String, DoclerkModule> openModules = new LinkedHashMap<>();
+        for (DoclerkExecution exec : dep.getExecutions()) {
+            for (DoclerkModuleExecution dme : exec.getModuleExecutions()) {
+                final ModuleDescriptor descriptor = foundModules.get(dme.getModuleName());
+                if (descriptor != null && !openModules.containsKey(descriptor.moduleName())) {
+                    try {
+                        final DoclerkModule mod = descriptor.newInstance();
+                        mod.open(base);
+                        openModules.put(descriptor.moduleName(), mod);
+                    } catch (RuntimeException e) {
+                        logger.error("== Failed to open module {}", descriptor.displayName(), e);
+                    }
+                }
+            }
+        }
+        return openModules;
+    }
+
+    private void close(Map<String, DoclerkModule> openModules) {
+        final List<DoclerkModule> modules = new ArrayList<>(openModules.values());
+        Collections.reverse(modules);
+        for (DoclerkModule mod : modules) {
+            try {
+                mod.close();
+            } catch (RuntimeException e) {
+                logger.error("== Failed to close module {}", mod.moduleInfo().displayName(), e);
+            }
+        }
+    }
+
+    private void run(DoclerkExecution exec, Map<String, ModuleDescriptor> foundModules, Map<String, DoclerkModule> openModules) {
+        DocRoot docRoot = new BlankDocRoot();
+        for (DoclerkModuleExecution dme : exec.getModuleExecutions()) {
+            final String modName = dme.getModuleName();
+            final Map<String, String> modParams = dme.getParameters();
+            final DoclerkModule mod = openModules.get(modName);
+            if (mod != null) {
+                docRoot = new CompoundDocRoot(new DocRootMergePolicy(
+                        (a, b) -> a + "," + b,
+                        (a, b) -> a + "-" + b,
+                        (a, b) -> {
+                            Set<DocPart> r = new LinkedHashSet<>(a);
+                            r.addAll(b);
+                            return r;
+                        }),
+                        docRoot,
+                        mod.withContext(new HashMapModuleContext(modParams)).run(docRoot));
+            } else if (foundModules.containsKey(modName)) {
+                throw new DoclerkException("Module could not be opened: " + modName);
+            } else {
+                throw new DoclerkException("Module not found: " + modName);
+            }
+        }
+    }
+
     private String sanitizeUri(Path path) {
         return path.toUri().normalize().toString();
     }
@@ -31,4 +31,16 @@ public class DoclerkException extends RuntimeException {
         super(thrwbl);
     }
 
+    /**
+     * Creates an exception which neither records its stack trace nor
+     * suppressed exceptions. Such an exception is cheap to create, and may be
+     * reused, for failures which are part of the normal course of things.
+     *
+     * @param string the message
+     * @param writableStackTrace whether the stack trace should be recorded
+     */
+    protected DoclerkException(String string, boolean writableStackTrace) {
+        super(string, null, false, writableStackTrace);
+    }
+
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+
+
+final class BoundExpression<T> implements Expression<T> {
+
+    private final CompiledExpression<T> compiled;
+    private final ExpressionContext context;
+
+    BoundExpression(CompiledExpression<T> compiled, ExpressionContext context) {
+        this.compiled = compiled;
+        this.context = context;
+    }
+
+    @Override
+    public T evaluate() {
+        return compiled.evaluate(context, FunctionPrototype.NO_ARGS);
+    }
+
+    @Override
+    public void evaluateTo(Appendable out) throws IOException {
+        compiled.evaluateTo(context, FunctionPrototype.NO_ARGS, out);
+    }
+
+}
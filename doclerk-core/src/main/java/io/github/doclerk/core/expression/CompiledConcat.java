@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+
+final class CompiledConcat implements CompiledExpression<String> {
+
+    private final String source;
+    private final CompiledExpression<String>[] parts;
+    private final int[] offsets;
+
+    /**
+     * @param source the template the parts were parsed from
+     * @param parts the parts
+     * @param offsets the offset of each part in the template
+     */
+    @SuppressWarnings("unchecked")
+    CompiledConcat(String source, List<CompiledExpression<String>> parts, int[] offsets) {
+        this.source = source;
+        this.parts = (CompiledExpression<String>[]) parts.toArray(new CompiledExpression<?>[parts.size()]);
+        this.offsets = offsets;
+    }
+
+    @Override
+    public String evaluate(ExpressionContext context, Expression<?>[] frame) {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            evaluateTo(context, frame, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        // A failed part is replaced by its error message, or reported to the current
+        // diagnostics: parts are written to a buffer that can be rolled back, the
+        // caller's own if it is one
+        final StringBuilder sb = out instanceof StringBuilder ? (StringBuilder) out : new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            final int mark = sb.length();
+            try {
+                parts[i].evaluateTo(context, frame, sb);
+            } catch (Exception e) {
+                sb.setLength(mark);
+                sb.append(Diagnostics.report(new EvaluationError(source, offsets[i], e.getMessage())));
+            }
+        }
+        if (sb != out) {
+            out.append(sb);
+        }
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        for (CompiledExpression<String> part : parts) {
+            if (!part.isConstant(constantVars, pureFunctions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        for (CompiledExpression<String> part : parts) {
+            part.collectReferences(variables, functions);
+        }
+    }
+
+    @Override
+    public CompiledExpression<String> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        final List<CompiledExpression<String>> folded = new ArrayList<>(parts.length);
+        final int[] foldedOffsets = new int[parts.length];
+        boolean changed = false;
+        boolean literal = true;
+        for (int i = 0; i < parts.length; i++) {
+            final CompiledExpression<String> foldedPart = parts[i].fold(context, constantVars, pureFunctions);
+            changed |= foldedPart != parts[i];
+            final int last = folded.size() - 1;
+            if (foldedPart instanceof StringExpression && last >= 0 && folded.get(last) instanceof StringExpression) {
+                // Merge adjacent literals
+                folded.set(last, new StringExpression(((StringExpression) folded.get(last)).evaluate() + ((StringExpression) foldedPart).evaluate()));
+            } else {
+                foldedOffsets[folded.size()] = offsets[i];
+                folded.add(foldedPart);
+            }
+            literal &= foldedPart instanceof StringExpression;
+        }
+        if (literal) {
+            return folded.isEmpty() ? new StringExpression("") : folded.get(0);
+        }
+        // Still a concatenation, so that failures of the remaining parts are still handled
+        return changed ? new CompiledConcat(source, folded, Arrays.copyOf(foldedOffsets, folded.size())) : this;
+    }
+
+    @Override
+    public CompiledExpression<String> specialize(ExpressionContext context) {
+        final List<CompiledExpression<String>> specialized = new ArrayList<>(parts.length);
+        boolean changed = false;
+        for (CompiledExpression<String> part : parts) {
+            final CompiledExpression<String> specializedPart = part.specialize(context);
+            changed |= specializedPart != part;
+            specialized.add(specializedPart);
+        }
+        return changed ? new CompiledConcat(source, specialized, offsets) : this;
+    }
+
+    @Override
+    public CompiledExpression<String> withParameters(List<String> parameterNames) {
+        final List<CompiledExpression<String>> parameterizedParts = new ArrayList<>(parts.length);
+        for (CompiledExpression<String> part : parts) {
+            parameterizedParts.add(part.withParameters(parameterNames));
+        }
+        return new CompiledConcat(source, parameterizedParts, offsets);
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Parsed, context-free form of an expression, shared between documents and threads.
+ *
+ * @param <T> the type the expression evaluates to
+ */
+public interface CompiledExpression<T> {
+
+    /**
+     * Evaluates this expression.
+     *
+     * @param context the context used to resolve variables and functions
+     * @param frame the arguments of the enclosing function call
+     * @return the value of the expression
+     */
+    T evaluate(ExpressionContext context, Expression<?>[] frame);
+
+    /**
+     * Evaluates this expression and appends its string value to a sink.
+     *
+     * @param context the context used to resolve variables and functions
+     * @param frame the arguments of the enclosing function call
+     * @param out the sink
+     * @throws IOException if the sink cannot be written to
+     * @see Expression#evaluateTo(Appendable)
+     */
+    default void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        out.append(String.valueOf(evaluate(context, frame)));
+    }
+
+    /**
+     * Binds this expression to a context.
+     *
+     * @param context the context used to resolve variables and functions
+     * @return an evaluable expression
+     */
+    default Expression<T> bind(ExpressionContext context) {
+        return new BoundExpression<>(this, context);
+    }
+
+    /**
+     * Binds this expression as the argument of a function call.
+     * <p>
+     * Arguments are passed by need: the returned expression is evaluated at
+     * most once, on first use, and the result is reused by any later use
+     * within the call. An argument that is never used is never evaluated.
+     *
+     * @param context the caller's context
+     * @param frame the caller's arguments
+     * @return the argument, only valid for the duration of the call
+     */
+    default Expression<T> bindArgument(ExpressionContext context, Expression<?>[] frame) {
+        return new LazyArgument<>(this, context, frame);
+    }
+
+    /**
+     * Tells whether this expression always evaluates to the same value, given
+     * the values of its parameter slots.
+     *
+     * @param constantVars tells which variables are constant
+     * @param pureFunctions tells which functions are pure
+     * @return {@code true} if every variable and function this expression
+     * references is constant or pure
+     */
+    boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions);
+
+    /**
+     * Collects the names of the variables and functions this expression
+     * references. Parameter slots are not variable references.
+     *
+     * @param variables receives the variable names
+     * @param functions receives the function names
+     */
+    default void collectReferences(Set<String> variables, Set<String> functions) {
+    }
+
+    /**
+     * Partially evaluates this expression: the subtrees which do not depend on
+     * parameter slots and only reference constant variables and pure functions
+     * are replaced by their value.
+     * <p>
+     * A subtree whose evaluation fails is left as is, so that it fails again,
+     * the same way, when the expression is evaluated.
+     *
+     * @param context the context the expression will be evaluated in
+     * @param constantVars tells which variables are constant
+     * @param pureFunctions tells which functions are pure
+     * @return the folded expression, or this expression if nothing could be folded
+     * @see ConstantFolder
+     */
+    default CompiledExpression<T> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return this;
+    }
+
+    /**
+     * Returns a copy of this expression specialized for a context: the
+     * variables and functions it references are looked up once, now, rather
+     * than each time it is evaluated.
+     * <p>
+     * The copy may only be evaluated in the given context, which must be
+     * immutable. A name which cannot be resolved is left as is, so that it
+     * fails again, the same way, when the expression is evaluated.
+     *
+     * @param context the immutable context the expression will be evaluated in
+     * @return the specialized expression, or this expression if it does not reference any name
+     * @see TemplateCompiler
+     */
+    default CompiledExpression<T> specialize(ExpressionContext context) {
+        return this;
+    }
+
+    /**
+     * Returns a copy of this expression where references to the given variable
+     * names are replaced by positional parameter slots.
+     *
+     * @param parameterNames the parameter names, in positional order
+     * @return the parameterized expression
+     */
+    default CompiledExpression<T> withParameters(List<String> parameterNames) {
+        return this;
+    }
+
+}
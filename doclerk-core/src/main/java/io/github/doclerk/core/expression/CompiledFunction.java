@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+
+final class CompiledFunction<R> implements CompiledExpression<R> {
+
+    private final String name;
+    private final CompiledExpression<?>[] args;
+    private volatile Resolution<?>[] resolutions = Resolution.NONE;
+
+    CompiledFunction(String name, List<CompiledExpression<?>> args) {
+        this.name = name;
+        this.args = args.toArray(new CompiledExpression<?>[args.size()]);
+    }
+
+    @Override
+    public R evaluate(ExpressionContext context, Expression<?>[] frame) {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return call(context, frame);
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.FUNCTION, name);
+        try {
+            return call(context, frame);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            callTo(context, frame, out);
+            return;
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.FUNCTION, name);
+        try {
+            callTo(context, frame, out);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    private R call(ExpressionContext context, Expression<?>[] frame) {
+        final FunctionPrototype<R> function = resolve(context);
+        final Expression<?>[] callFrame = callFrame(context, frame);
+        return function.isPure()
+                ? FunctionResultCache.getInstance().call(function, callFrame)
+                : function.call(callFrame);
+    }
+
+    private void callTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final FunctionPrototype<R> function = resolve(context);
+        final Expression<?>[] callFrame = callFrame(context, frame);
+        if (function.isPure()) {
+            out.append(String.valueOf(FunctionResultCache.getInstance().call(function, callFrame)));
+        } else {
+            function.callTo(callFrame, out);
+        }
+    }
+
+    private Expression<?>[] callFrame(ExpressionContext context, Expression<?>[] frame) {
+        if (args.length == 0) {
+            return FunctionPrototype.NO_ARGS;
+        }
+        // The callee frame: constants and forwarded parameters are passed as is,
+        // anything else is evaluated by need in the caller's context and frame
+        final Expression<?>[] callFrame = new Expression<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            callFrame[i] = args[i].bindArgument(context, frame);
+        }
+        return callFrame;
+    }
+
+    private FunctionPrototype<R> resolve(ExpressionContext context) {
+        final Resolution<?>[] cached = resolutions;
+        @SuppressWarnings("unchecked")
+        final FunctionPrototype<R> found = (FunctionPrototype<R>) Resolution.find(cached, context);
+        if (found != null) {
+            return found;
+        }
+        final FunctionPrototype<R> function = context.getFunction(name);
+        resolutions = Resolution.add(cached, context, function);
+        return function;
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        if (!pureFunctions.test(name)) {
+            return false;
+        }
+        for (CompiledExpression<?> arg : args) {
+            if (!arg.isConstant(constantVars, pureFunctions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        functions.add(name);
+        for (CompiledExpression<?> arg : args) {
+            arg.collectReferences(variables, functions);
+        }
+    }
+
+    @Override
+    public CompiledExpression<R> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        final CompiledExpression<?>[] foldedArgs = new CompiledExpression<?>[args.length];
+        boolean changed = false;
+        boolean literalArgs = true;
+        for (int i = 0; i < args.length; i++) {
+            foldedArgs[i] = args[i].fold(context, constantVars, pureFunctions);
+            changed |= foldedArgs[i] != args[i];
+            literalArgs &= foldedArgs[i] instanceof StringExpression;
+        }
+        final CompiledFunction<R> folded = changed ? new CompiledFunction<>(name, Arrays.asList(foldedArgs)) : this;
+        if (!literalArgs || !pureFunctions.test(name)) {
+            return folded;
+        }
+        return ConstantFolder.literal(folded, context);
+    }
+
+    @Override
+    public CompiledExpression<R> specialize(ExpressionContext context) {
+        final FunctionPrototype<R> function;
+        try {
+            function = context.getFunction(name);
+        } catch (RuntimeException e) {
+            return this;
+        }
+        final CompiledExpression<?>[] specializedArgs = new CompiledExpression<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            specializedArgs[i] = args[i].specialize(context);
+        }
+        return new ResolvedFunction<>(this, function, specializedArgs);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    @Override
+    public CompiledExpression<R> withParameters(List<String> parameterNames) {
+        CompiledExpression<?>[] parameterizedArgs = new CompiledExpression<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            parameterizedArgs[i] = args[i].withParameters(parameterNames);
+        }
+        return new CompiledFunction<>(name, Arrays.asList(parameterizedArgs));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompiledFunction)) {
+            return false;
+        }
+        final CompiledFunction<?> other = (CompiledFunction<?>) obj;
+        return name.equals(other.name) && Arrays.equals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Arrays.hashCode(args);
+    }
+
+}
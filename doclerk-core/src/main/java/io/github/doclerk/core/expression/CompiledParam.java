@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+
+final class CompiledParam<T> implements CompiledExpression<T> {
+
+    private final String name;
+    private final int index;
+
+    CompiledParam(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    @Override
+    public T evaluate(ExpressionContext context, Expression<?>[] frame) {
+        return index < frame.length
+                ? this.<T>arg(frame).evaluate()
+                // Omitted argument: resolve the name in the context, as a plain variable would
+                : context.<T>getVar(name).evaluate();
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        if (index < frame.length) {
+            arg(frame).evaluateTo(out);
+        } else {
+            context.getVar(name).evaluateTo(out);
+        }
+    }
+
+    @Override
+    public Expression<T> bindArgument(ExpressionContext context, Expression<?>[] frame) {
+        // Forward the caller's argument rather than wrapping it, so that it is still evaluated only once
+        return index < frame.length ? arg(frame) : CompiledExpression.super.bindArgument(context, frame);
+    }
+
+    /**
+     * A parameter is constant as long as it is bound from the frame. Calls
+     * omitting it are not memoized, and a function whose parameter falls back
+     * to a variable which is not constant should not be marked pure.
+     */
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompiledParam)) {
+            return false;
+        }
+        final CompiledParam<?> other = (CompiledParam<?>) obj;
+        return index == other.index && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A> Expression<A> arg(Expression<?>[] frame) {
+        return (Expression<A>) frame[index];
+    }
+
+}
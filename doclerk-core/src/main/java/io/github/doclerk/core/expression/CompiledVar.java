@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+
+final class CompiledVar<T> implements CompiledExpression<T> {
+
+    private final String varName;
+    private volatile Resolution<?>[] resolutions = Resolution.NONE;
+
+    CompiledVar(String varName) {
+        this.varName = varName;
+    }
+
+    @Override
+    public T evaluate(ExpressionContext context, Expression<?>[] frame) {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return resolve(context).evaluate();
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.VARIABLE, varName);
+        try {
+            return resolve(context).evaluate();
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            resolve(context).evaluateTo(out);
+            return;
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.VARIABLE, varName);
+        try {
+            resolve(context).evaluateTo(out);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    private Expression<T> resolve(ExpressionContext context) {
+        final Resolution<?>[] cached = resolutions;
+        @SuppressWarnings("unchecked")
+        final Expression<T> found = (Expression<T>) Resolution.find(cached, context);
+        if (found != null) {
+            return found;
+        }
+        final Expression<T> var = context.getVar(varName);
+        resolutions = Resolution.add(cached, context, var);
+        return var;
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return constantVars.test(varName);
+    }
+
+    @Override
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        variables.add(varName);
+    }
+
+    @Override
+    public CompiledExpression<T> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        if (!constantVars.test(varName)) {
+            return this;
+        }
+        return ConstantFolder.literal(this, context);
+    }
+
+    @Override
+    public CompiledExpression<T> specialize(ExpressionContext context) {
+        try {
+            return new ResolvedVar<>(this, context.<T>getVar(varName));
+        } catch (RuntimeException e) {
+            return this;
+        }
+    }
+
+    String getName() {
+        return varName;
+    }
+
+    @Override
+    public CompiledExpression<T> withParameters(List<String> parameterNames) {
+        final int index = parameterNames.indexOf(varName);
+        return index < 0 ? this : new CompiledParam<>(varName, index);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj instanceof CompiledVar && varName.equals(((CompiledVar<?>) obj).varName);
+    }
+
+    @Override
+    public int hashCode() {
+        return varName.hashCode();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates at load time the parts of templates which only depend on constants and pure functions.
+ */
+public class ConstantFolder {
+
+    private final ExpressionContext context;
+    private final Predicate<String> constantVars;
+    private final Predicate<String> pureFunctions;
+    private final Map<CompiledExpression<?>, CompiledExpression<?>> folded = new ConcurrentHashMap<>();
+
+    /**
+     * @param context the context templates are evaluated in
+     * @param constantVars tells which variables of the context are constant
+     * @param pureFunctions tells which functions of the context are pure
+     */
+    public ConstantFolder(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        this.context = context;
+        this.constantVars = constantVars;
+        this.pureFunctions = pureFunctions;
+    }
+
+    /**
+     * @param <T> the type the expression evaluates to
+     * @param expression the expression to fold
+     * @return the folded expression
+     */
+    public <T> CompiledExpression<T> fold(CompiledExpression<T> expression) {
+        return expression.fold(context, constantVars, pureFunctions);
+    }
+
+    /**
+     * Creates a template bound to the context of this folder, with its constant parts folded.
+     * <p>
+     * Each distinct template is folded once: templates created from the same
+     * source share their folded form.
+     *
+     * @param source the template source
+     * @return the template
+     * @throws InvalidSyntaxException if the template cannot be parsed
+     */
+    public TemplateStringExpression template(String source) {
+        if (source == null) {
+            return new TemplateStringExpression(source, context);
+        }
+        @SuppressWarnings("unchecked")
+        final CompiledExpression<String> template = (CompiledExpression<String>) folded.computeIfAbsent(TemplateCache.getInstance().get(source), compiled -> fold(compiled));
+        return new TemplateStringExpression(template, context);
+    }
+
+    /**
+     * Evaluates an expression which only depends on constants. A value holding
+     * errors is not folded: they are reported each time the expression is
+     * evaluated, as they would be without folding.
+     *
+     * @return the literal standing for the value of the expression, or the
+     * expression itself if it fails or its value is not a string
+     */
+    static <T> CompiledExpression<T> literal(CompiledExpression<T> expression, ExpressionContext context) {
+        // Errors are collected apart: they are reported when the expression is evaluated
+        final Diagnostics diagnostics = new Diagnostics();
+        final Object value;
+        try {
+            value = diagnostics.collect(() -> expression.evaluate(context, FunctionPrototype.NO_ARGS));
+        } catch (RuntimeException e) {
+            return expression;
+        }
+        return diagnostics.isEmpty() ? literal(value, expression) : expression;
+    }
+
+    /**
+     * @return the literal standing for a value, or the expression itself if the value is not a string
+     */
+    private static <T> CompiledExpression<T> literal(Object value, CompiledExpression<T> expression) {
+        if (value instanceof String) {
+            @SuppressWarnings("unchecked")
+            final CompiledExpression<T> literal = (CompiledExpression<T>) (CompiledExpression<?>) new StringExpression((String) value);
+            return literal;
+        }
+        return expression;
+    }
+
+}
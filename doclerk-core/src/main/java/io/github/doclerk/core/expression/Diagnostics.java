@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the template evaluation errors of the current thread, instead of rendering them.
+ */
+public final class Diagnostics {
+
+    private static final ThreadLocal<Diagnostics> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<int[]> FAILURES = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final List<EvaluationError> errors = new ArrayList<>();
+
+    /**
+     * Runs an action, collecting the evaluation errors it causes on the current thread.
+     *
+     * @param <T> the action result type
+     * @param action the action
+     * @return the action result
+     */
+    public <T> T collect(Supplier<T> action) {
+        final Diagnostics previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs an action, collecting the evaluation errors it causes on the current thread.
+     *
+     * @param action the action
+     */
+    public void collect(Runnable action) {
+        collect(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * @return the collected errors, in the order they occurred
+     */
+    public List<EvaluationError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public boolean isEmpty() {
+        return errors.isEmpty();
+    }
+
+    void add(EvaluationError error) {
+        errors.add(error);
+    }
+
+    /**
+     * Reports a failed template part: it is collected if diagnostics collect on
+     * the current thread, rendered otherwise.
+     *
+     * @param error the failure
+     * @return the text to render in place of the part: the failure message, or
+     * nothing if it was collected
+     */
+    public static String report(EvaluationError error) {
+        FAILURES.get()[0]++;
+        final Diagnostics diagnostics = CURRENT.get();
+        if (diagnostics != null) {
+            diagnostics.add(error);
+            return "";
+        }
+        return error.getReason();
+    }
+
+    /**
+     * @return the number of template parts which failed on the current thread,
+     * compared before and after an evaluation to tell whether its result holds errors
+     */
+    static int failureCount() {
+        return FAILURES.get()[0];
+    }
+
+    /**
+     * @return the diagnostics collecting on the current thread, if any
+     */
+    static Diagnostics current() {
+        return CURRENT.get();
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+/**
+ * A failure to evaluate part of a template.
+ */
+public final class EvaluationError {
+
+    private final String source;
+    private final int position;
+    private final String reason;
+
+    public EvaluationError(String source, int position, String reason) {
+        this.source = source;
+        this.position = position;
+        this.reason = reason;
+    }
+
+    /**
+     * @return the template source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return the offset, in the template source, of the part which failed
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the failure message
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return reason + " (at offset " + position + " in \"" + source + "\")";
+    }
+
+}
@@ -15,7 +15,22 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.io.IOException;
+
 
 public interface Expression<T> {
     T evaluate();
+
+    /**
+     * Evaluates this expression and appends its string value to a sink.
+     * <p>
+     * Templates override this method to write nested results straight into the
+     * sink instead of building intermediate strings.
+     *
+     * @param out the sink
+     * @throws IOException if the sink cannot be written to
+     */
+    default void evaluateTo(Appendable out) throws IOException {
+        out.append(String.valueOf(evaluate()));
+    }
 }
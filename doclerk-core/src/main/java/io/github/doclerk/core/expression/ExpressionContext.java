@@ -15,6 +15,8 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.util.Optional;
+
 public interface ExpressionContext {
 
     /**
@@ -36,4 +38,53 @@ public interface ExpressionContext {
      */
     <T> FunctionPrototype<T> getFunction(String name);
 
+    /**
+     * Looks up a variable without failing if it is not defined.
+     * <p>
+     * Contexts should override this method: the default implementation relies
+     * on {@link #getVar(String)} throwing.
+     *
+     * @param <T> the expected type
+     * @param key the name of the variable
+     * @return the variable expression, if found
+     */
+    default <T> Optional<Expression<T>> findVar(String key) {
+        try {
+            return Optional.ofNullable(getVar(key));
+        } catch (UndefinedVariableException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Looks up a function without failing if it is not defined.
+     * <p>
+     * Contexts should override this method: the default implementation relies
+     * on {@link #getFunction(String)} throwing.
+     *
+     * @param <T> the function expected return type
+     * @param name the name of the function
+     * @return the function prototype, if found
+     */
+    default <T> Optional<FunctionPrototype<T>> findFunction(String name) {
+        try {
+            return Optional.ofNullable(getFunction(name));
+        } catch (UndefinedFunctionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Tells whether this context always resolves a given name to the same
+     * entry. Expressions may then resolve their lookups once and for all.
+     * <p>
+     * An immutable context must also be safe to use from several threads at
+     * once, without external synchronization.
+     *
+     * @return {@code false} unless overridden
+     */
+    default boolean isImmutable() {
+        return false;
+    }
+
 }
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass lexer and parser for templates and expressions, of grammar:
+ * <pre>
+ * template   := ( text | '&amp;' letterOrDigit+ | call )*
+ * call       := '$' name '(' [ argument ( ',' argument )* [ ',' ] ] ')'
+ * argument   := string | '&amp;' name | call
+ * string     := '"' ( '\' any | any but '"' )* '"'
+ * </pre>
+ * In a template, a {@code $} or {@code &} that does not start a well formed
+ * call or variable, including a call left unclosed, is kept as text.
+ */
+final class ExpressionLexer {
+
+    private final String source;
+    private final NodeTable nodes;
+    private final int length;
+    private int pos;
+    private int[] offsets = new int[8];
+
+    private ExpressionLexer(String source, NodeTable nodes) {
+        this.source = source;
+        this.nodes = nodes;
+        this.length = source.length();
+    }
+
+    /**
+     * Parses a template, i.e. text interleaved with variables and function calls.
+     *
+     * @param source the template source
+     * @return the compiled template
+     * @throws InvalidSyntaxException if a function call is malformed
+     */
+    static CompiledExpression<String> template(String source) {
+        return template(source, NodeTable.NONE);
+    }
+
+    /**
+     * Parses a template, sharing its nodes with the previously parsed ones.
+     *
+     * @param source the template source
+     * @param nodes the table the nodes are interned in
+     * @return the compiled template
+     * @throws InvalidSyntaxException if a function call is malformed
+     */
+    static CompiledExpression<String> template(String source, NodeTable nodes) {
+        if (source.indexOf('$') < 0 && source.indexOf('&') < 0) {
+            return nodes.intern(new StringExpression(source));
+        }
+        return new ExpressionLexer(source, nodes).readTemplate();
+    }
+
+    /**
+     * Parses a single expression: a string literal, a variable or a function call.
+     *
+     * @param <T> the expected type
+     * @param source the expression source
+     * @param expected the expected type
+     * @return the compiled expression
+     * @throws InvalidSyntaxException if the expression cannot be parsed
+     */
+    static <T> CompiledExpression<T> expression(String source, Class<T> expected) {
+        final ExpressionLexer lexer = new ExpressionLexer(source, NodeTable.NONE);
+        lexer.skipWhitespace();
+        if (lexer.pos == lexer.length) {
+            return asExpected(new StringExpression(source), expected);
+        }
+        final CompiledExpression<?> expression = lexer.readArgument();
+        lexer.skipWhitespace();
+        if (lexer.pos < lexer.length) {
+            throw new InvalidSyntaxException("failed to parse expression: " + source);
+        }
+        if (expression instanceof StringExpression) {
+            return asExpected((StringExpression) expression, expected);
+        }
+        @SuppressWarnings("unchecked")
+        final CompiledExpression<T> result = (CompiledExpression<T>) expression;
+        return result;
+    }
+
+    private CompiledExpression<String> readTemplate() {
+        final List<CompiledExpression<String>> parts = new ArrayList<>();
+        int textStart = 0;
+        while (pos < length) {
+            final char c = source.charAt(pos);
+            if (c == '&' && pos + 1 < length && Character.isLetterOrDigit(source.charAt(pos + 1))) {
+                addText(parts, textStart, pos);
+                final int nameStart = ++pos;
+                while (pos < length && Character.isLetterOrDigit(source.charAt(pos))) {
+                    pos++;
+                }
+                addPart(parts, nodes.intern(new CompiledVar<>(source.substring(nameStart, pos))), nameStart - 1);
+                textStart = pos;
+            } else if (c == '$') {
+                final int start = pos;
+                CompiledFunction<String> call;
+                try {
+                    call = readCall();
+                } catch (Unterminated e) {
+                    call = null;
+                }
+                if (call != null) {
+                    addText(parts, textStart, start);
+                    addPart(parts, call, start);
+                    textStart = pos;
+                } else {
+                    pos = start + 1;
+                }
+            } else {
+                pos++;
+            }
+        }
+        addText(parts, textStart, length);
+        // A lone variable is returned as is, so that an undefined one fails
+        // the evaluation; anywhere else, failures are inlined by the concatenation
+        if (parts.size() == 1 && !(parts.get(0) instanceof CompiledFunction)) {
+            return parts.get(0);
+        }
+        return new CompiledConcat(source, parts, Arrays.copyOf(offsets, parts.size()));
+    }
+
+    private void addText(List<CompiledExpression<String>> parts, int start, int end) {
+        if (end > start) {
+            addPart(parts, nodes.intern(new StringExpression(source.substring(start, end))), start);
+        }
+    }
+
+    private void addPart(List<CompiledExpression<String>> parts, CompiledExpression<String> part, int offset) {
+        if (parts.size() == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[parts.size()] = offset;
+        parts.add(part);
+    }
+
+    /**
+     * Reads a function call starting at the current {@code $}.
+     *
+     * @return the call, or {@code null} if no argument list follows the name
+     */
+    private <R> CompiledFunction<R> readCall() {
+        final int nameStart = ++pos;
+        while (pos < length && isNameChar(source.charAt(pos))) {
+            pos++;
+        }
+        if (pos == nameStart || pos == length || source.charAt(pos) != '(') {
+            return null;
+        }
+        final String name = source.substring(nameStart, pos++);
+        final List<CompiledExpression<?>> args = new ArrayList<>(4);
+        while (true) {
+            skipWhitespace();
+            if (pos == length) {
+                throw new Unterminated("unclosed call to function " + name);
+            }
+            char c = source.charAt(pos);
+            if (c == ')') {
+                pos++;
+                break;
+            }
+            if (c == ',') {
+                throw new InvalidSyntaxException("Unexpected token ',' encountered. Expected: expression");
+            }
+            args.add(readArgument());
+            skipWhitespace();
+            if (pos == length) {
+                throw new Unterminated("unclosed call to function " + name);
+            }
+            c = source.charAt(pos++);
+            if (c == ')') {
+                break;
+            }
+            if (c != ',') {
+                throw new InvalidSyntaxException("Unexpected token '" + c + "' encountered in call to function " + name + ". Expected: ',' or ')'");
+            }
+        }
+        return nodes.intern(new CompiledFunction<>(name, args));
+    }
+
+    private CompiledExpression<?> readArgument() {
+        final int start = pos;
+        switch (source.charAt(pos)) {
+            case '"':
+                return readString();
+            case '&':
+                pos++;
+                while (pos < length && isNameChar(source.charAt(pos))) {
+                    pos++;
+                }
+                if (pos == start + 1) {
+                    throw invalid(start);
+                }
+                return nodes.intern(new CompiledVar<>(source.substring(start + 1, pos)));
+            case '$':
+                final CompiledExpression<?> call = readCall();
+                if (call == null) {
+                    throw invalid(start);
+                }
+                return call;
+            default:
+                throw invalid(start);
+        }
+    }
+
+    private StringExpression readString() {
+        final int start = pos++;
+        StringBuilder unescaped = null;
+        int chunkStart = pos;
+        while (pos < length) {
+            final char c = source.charAt(pos);
+            if (c == '"') {
+                final String value = unescaped == null
+                        ? source.substring(chunkStart, pos)
+                        : unescaped.append(source, chunkStart, pos).toString();
+                pos++;
+                return nodes.intern(new StringExpression(value));
+            }
+            if (c == '\\') {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(pos - chunkStart + 16);
+                }
+                unescaped.append(source, chunkStart, pos);
+                // The escaped char starts the next chunk
+                chunkStart = ++pos;
+            }
+            pos++;
+        }
+        throw new Unterminated("not a valid string expression: " + source.substring(start));
+    }
+
+    private void skipWhitespace() {
+        while (pos < length && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private InvalidSyntaxException invalid(int start) {
+        int end = start;
+        while (end < length && source.charAt(end) != ',' && source.charAt(end) != ')') {
+            end++;
+        }
+        return new InvalidSyntaxException("failed to parse expression: " + source.substring(start, end));
+    }
+
+    private static boolean isNameChar(char c) {
+        switch (c) {
+            case '(':
+            case ')':
+            case ',':
+            case '"':
+            case '$':
+            case '&':
+                return false;
+            default:
+                return !Character.isWhitespace(c);
+        }
+    }
+
+    private static <T> CompiledExpression<T> asExpected(StringExpression expression, Class<T> expected) {
+        if (expected.isAssignableFrom(String.class)) {
+            @SuppressWarnings("unchecked")
+            final CompiledExpression<T> stringExpr = (CompiledExpression<T>) (CompiledExpression<?>) expression;
+            return stringExpr;
+        } else {
+            throw new InvalidSyntaxException("Expression \"" + expression.evaluate() + "\" cannot be parsed to an Expression<" + expected.getName() + ">");
+        }
+    }
+
+    /**
+     * Raised when the source ends in the middle of a call or a string.
+     */
+    private static final class Unterminated extends InvalidSyntaxException {
+
+        private static final long serialVersionUID = 1L;
+
+        Unterminated(String message) {
+            super(message);
+        }
+
+    }
+
+}
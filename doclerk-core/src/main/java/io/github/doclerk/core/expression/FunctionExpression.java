@@ -15,8 +15,6 @@
  */
 package io.github.doclerk.core.expression;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import io.github.doclerk.core.model.DocExpression;
@@ -25,20 +23,43 @@ import io.github.doclerk.core.model.DocExpression;
 public class FunctionExpression<R> extends DocExpression<R> {
 
     protected final String name;
-    protected final List<Expression<?>> args;
+    protected final Expression<?>[] args;
+    private volatile FunctionPrototype<R> resolved;
 
     public FunctionExpression(ExpressionContext context, String name, Expression<?>... args) {
-        this(context, name, Arrays.asList(args));
+        super(context);
+        this.name = name;
+        this.args = args.clone();
     }
 
     public FunctionExpression(ExpressionContext context, String name, List<Expression<?>> args) {
-        super(context);
-        this.name = name;
-        this.args = new ArrayList<>(args);
+        this(context, name, args.toArray(new Expression<?>[args.size()]));
     }
 
     @Override
     public R evaluate() {
-        return context.<R>getFunction(name).call(args);
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return call();
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.FUNCTION, name);
+        try {
+            return call();
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    private R call() {
+        FunctionPrototype<R> function = resolved;
+        if (function == null) {
+            function = context.getFunction(name);
+            if (context.isImmutable()) {
+                resolved = function;
+            }
+        }
+        return function.isPure()
+                ? FunctionResultCache.getInstance().call(function, args)
+                : function.call(args);
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.Map;
+
+/**
+ * Service provider interface for functions implemented in Java.
+ */
+public interface FunctionLibrary {
+
+    /**
+     * Called once for each root context: functions which keep state, like
+     * counters, should keep it in the returned instances.
+     *
+     * @return new instances of the functions of this library, by name
+     */
+    Map<String, FunctionPrototype<?>> functions();
+
+}
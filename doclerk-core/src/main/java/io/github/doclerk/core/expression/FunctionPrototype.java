@@ -1,5 +1,5 @@
 /*
- * Copyright 2024 piercemar.
+ * Copyright 2026 piercemar.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,56 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 
 @FunctionalInterface
 public interface FunctionPrototype<R> {
+
+    /**
+     * An empty argument frame.
+     */
+    Expression<?>[] NO_ARGS = new Expression<?>[0];
+
     R call(List<Expression<?>> args);
+
+    /**
+     * Frame-based calling convention.
+     * <p>
+     * Arguments are passed in a positional array owned by the caller, which is
+     * only valid for the duration of the call: implementations must neither
+     * modify nor retain it. Implementations able to work on the array directly
+     * should override this method, the default one wraps it in a list.
+     *
+     * @param frame the arguments
+     * @return the function result
+     */
+    default R call(Expression<?>[] frame) {
+        return call(Arrays.asList(frame));
+    }
+
+    /**
+     * Calls this function and appends the string value of its result to a sink.
+     *
+     * @param frame the arguments, in positional order
+     * @param out the sink
+     * @throws IOException if the sink cannot be written to
+     * @see Expression#evaluateTo(Appendable)
+     */
+    default void callTo(Expression<?>[] frame, Appendable out) throws IOException {
+        out.append(String.valueOf(call(frame)));
+    }
+
+    /**
+     * Tells whether this function is pure, i.e. whether its result only depends
+     * on the values of its arguments. Calls to pure functions are memoized by
+     * the {@link FunctionResultCache}.
+     *
+     * @return {@code false} unless overridden
+     */
+    default boolean isPure() {
+        return false;
+    }
 }
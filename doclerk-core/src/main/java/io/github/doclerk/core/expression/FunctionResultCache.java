@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, least-recently-used cache of the results of pure functions, sized by the
+ * {@value #CAPACITY_PROPERTY} system property.
+ */
+public class FunctionResultCache {
+
+    public static final String CAPACITY_PROPERTY = "doclerk.functionCache.capacity";
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private static final FunctionResultCache INSTANCE = new FunctionResultCache(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+    private static final Object NULL_VALUE = new Object();
+
+    private final int capacity;
+    // Weakly keyed: a function, like a macro, may hold a whole document
+    private final Map<FunctionPrototype<?>, Map<Integer, Tree>> trees = new WeakHashMap<>();
+    // The cached results, least recently used first. Guards the trees as well
+    private final Map<Node, Node> leaves = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public FunctionResultCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity may not be negative");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the cache shared by all pure functions of the running JVM
+     */
+    public static FunctionResultCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Calls a pure function, or returns the result of a previous call with equal arguments.
+     *
+     * @param <R> the function return type
+     * @param function the function
+     * @param frame the arguments
+     * @return the function result
+     */
+    public <R> R call(FunctionPrototype<R> function, Expression<?>[] frame) {
+        if (function instanceof TemplateFunction && !((TemplateFunction) function).isFullCall(frame)) {
+            return function.call(frame);
+        }
+        final Recorder recorder = new Recorder(frame);
+        final Tree tree;
+        synchronized (leaves) {
+            tree = tree(function, frame.length, false);
+        }
+        // Arguments are evaluated out of the lock
+        final Node leaf = tree != null ? tree.find(recorder) : null;
+        if (leaf != null) {
+            synchronized (leaves) {
+                leaves.get(leaf);
+            }
+            hits.incrementAndGet();
+            @SuppressWarnings("unchecked")
+            final R result = leaf.result == NULL_VALUE ? null : (R) leaf.result;
+            return result;
+        }
+        misses.incrementAndGet();
+        final int failures = Diagnostics.failureCount();
+        // Arguments evaluated by the lookup are passed on already evaluated
+        final R result = function.call(recorder.arguments);
+        // A result holding errors is not cached, so that they are reported by each call
+        if (capacity > 0 && !recorder.failed && Diagnostics.failureCount() == failures) {
+            synchronized (leaves) {
+                final Node added = tree(function, frame.length, true).add(recorder, mask(result));
+                if (added != null) {
+                    leaves.put(added, added);
+                    if (leaves.size() > capacity) {
+                        evictEldest();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private Tree tree(FunctionPrototype<?> function, int arity, boolean create) {
+        Map<Integer, Tree> byArity = trees.get(function);
+        if (byArity == null) {
+            if (!create) {
+                return null;
+            }
+            byArity = new HashMap<>(2);
+            trees.put(function, byArity);
+        }
+        Tree tree = byArity.get(arity);
+        if (tree == null && create) {
+            tree = new Tree(function, arity);
+            byArity.put(arity, tree);
+        }
+        return tree;
+    }
+
+    private void evictEldest() {
+        final Iterator<Node> it = leaves.keySet().iterator();
+        final Node eldest = it.next();
+        it.remove();
+        evictions.incrementAndGet();
+        final Tree emptied = eldest.remove();
+        if (emptied != null) {
+            final FunctionPrototype<?> function = emptied.function.get();
+            final Map<Integer, Tree> byArity = function != null ? trees.get(function) : null;
+            if (byArity != null && byArity.remove(emptied.arity, emptied) && byArity.isEmpty()) {
+                trees.remove(function);
+            }
+        }
+    }
+
+    private static Object mask(Object value) {
+        return value == null ? NULL_VALUE : value;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        synchronized (leaves) {
+            return leaves.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Drops all cached results and resets the counters.
+     */
+    public void clear() {
+        synchronized (leaves) {
+            trees.clear();
+            leaves.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + ", size=" + size() + "/" + capacity;
+    }
+
+    /**
+     * Wraps the arguments of a call, recording the ones evaluated and their values.
+     * Confined to the thread making the call.
+     */
+    private static final class Recorder {
+
+        private final Expression<?>[] arguments;
+        private final int[] indexes;
+        private final Object[] values;
+        private int count;
+        private boolean failed;
+
+        Recorder(Expression<?>[] frame) {
+            this.arguments = new Expression<?>[frame.length];
+            this.indexes = new int[frame.length];
+            this.values = new Object[frame.length];
+            for (int i = 0; i < frame.length; i++) {
+                arguments[i] = new Argument<>(this, i, frame[i]);
+            }
+        }
+
+        Object evaluate(int index) {
+            return arguments[index].evaluate();
+        }
+
+    }
+
+    private static final class Argument<T> implements Expression<T> {
+
+        private final Recorder recorder;
+        private final int index;
+        private Expression<T> arg;
+        private T value;
+        private RuntimeException failure;
+
+        Argument(Recorder recorder, int index, Expression<T> arg) {
+            this.recorder = recorder;
+            this.index = index;
+            this.arg = arg;
+        }
+
+        @Override
+        public T evaluate() {
+            if (failure != null) {
+                throw failure;
+            }
+            if (arg != null) {
+                try {
+                    value = arg.evaluate();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    recorder.failed = true;
+                    throw e;
+                }
+                arg = null;
+                recorder.indexes[recorder.count] = index;
+                recorder.values[recorder.count] = mask(value);
+                recorder.count++;
+            }
+            return value;
+        }
+
+    }
+
+    /**
+     * The results of a function for a given number of arguments: each branch
+     * node evaluates an argument and follows the child for its value, down to
+     * a leaf holding the result. Read without locking, modified under the
+     * lock of the cache.
+     */
+    private static final class Tree {
+
+        private final WeakReference<FunctionPrototype<?>> function;
+        private final int arity;
+        private volatile Node root;
+
+        Tree(FunctionPrototype<?> function, int arity) {
+            this.function = new WeakReference<>(function);
+            this.arity = arity;
+        }
+
+        /**
+         * @return the leaf holding the result, or {@code null} on a miss
+         */
+        Node find(Recorder recorder) {
+            Node node = root;
+            while (node != null && node.index >= 0) {
+                final Object value;
+                try {
+                    value = mask(recorder.evaluate(node.index));
+                } catch (RuntimeException e) {
+                    return null;
+                }
+                node = node.children.get(value);
+            }
+            return node;
+        }
+
+        /**
+         * @return the leaf added, or {@code null} if none was
+         */
+        Node add(Recorder recorder, Object result) {
+            if (recorder.count == 0) {
+                if (root != null) {
+                    return null;
+                }
+                root = Node.leaf(this, null, null, result);
+                return root;
+            }
+            if (root == null) {
+                root = Node.branch(this, null, null, recorder.indexes[0]);
+            }
+            Node node = root;
+            for (int i = 0; i < recorder.count; i++) {
+                if (node.index != recorder.indexes[i]) {
+                    // The function evaluated its arguments in another order: it is not actually pure
+                    return null;
+                }
+                Node child = node.children.get(recorder.values[i]);
+                if (child == null) {
+                    final boolean last = i == recorder.count - 1;
+                    child = last
+                            ? Node.leaf(this, node, recorder.values[i], result)
+                            : Node.branch(this, node, recorder.values[i], recorder.indexes[i + 1]);
+                    node.children.put(recorder.values[i], child);
+                    if (last) {
+                        return child;
+                    }
+                }
+                node = child;
+            }
+            return null;
+        }
+
+    }
+
+    private static final class Node {
+
+        private final Tree tree;
+        private final Node parent;
+        // The argument value leading to this node from its parent
+        private final Object value;
+        // The argument evaluated by a branch, -1 for a leaf
+        private final int index;
+        private final Object result;
+        private final Map<Object, Node> children;
+
+        private Node(Tree tree, Node parent, Object value, int index, Object result, Map<Object, Node> children) {
+            this.tree = tree;
+            this.parent = parent;
+            this.value = value;
+            this.index = index;
+            this.result = result;
+            this.children = children;
+        }
+
+        static Node branch(Tree tree, Node parent, Object value, int index) {
+            return new Node(tree, parent, value, index, null, new ConcurrentHashMap<>(4));
+        }
+
+        static Node leaf(Tree tree, Node parent, Object value, Object result) {
+            return new Node(tree, parent, value, -1, result, null);
+        }
+
+        /**
+         * Removes this leaf, and the branches it leaves empty.
+         *
+         * @return the tree of this leaf if it is now empty, {@code null} otherwise
+         */
+        Tree remove() {
+            Node node = this;
+            while (node.parent != null) {
+                node.parent.children.remove(node.value);
+                if (!node.parent.children.isEmpty()) {
+                    return null;
+                }
+                node = node.parent;
+            }
+            tree.root = null;
+            return tree;
+        }
+
+    }
+
+}
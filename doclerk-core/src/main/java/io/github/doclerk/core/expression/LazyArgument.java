@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+/**
+ * Memoizing thunk standing for a function argument, confined to the calling thread.
+ */
+final class LazyArgument<T> implements Expression<T> {
+
+    private CompiledExpression<T> compiled;
+    private ExpressionContext context;
+    private Expression<?>[] frame;
+    private T value;
+
+    LazyArgument(CompiledExpression<T> compiled, ExpressionContext context, Expression<?>[] frame) {
+        this.compiled = compiled;
+        this.context = context;
+        this.frame = frame;
+    }
+
+    @Override
+    public T evaluate() {
+        if (compiled != null) {
+            value = compiled.evaluate(context, frame);
+            // Release the caller's frame as soon as it is no longer needed
+            compiled = null;
+            context = null;
+            frame = null;
+        }
+        return value;
+    }
+
+}
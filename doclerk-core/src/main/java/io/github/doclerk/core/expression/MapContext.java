@@ -15,51 +15,94 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import io.github.doclerk.core.exception.DoclerkException;
-
+import java.util.Optional;
 
+/**
+ * A context backed by maps of variables and functions, copied when the
+ * context is created.
+ * <p>
+ * A map context is never modified once created: it may be shared by any number
+ * of threads, provided the expressions and functions it holds are thread-safe
+ * themselves.
+ */
 public class MapContext implements ExpressionContext {
 
     private final ExpressionContext parentContext;
     private final Map<String, Expression<?>> vars;
     private final Map<String, FunctionPrototype<?>> funcs;
+    private final boolean immutable;
+    // The native functions of a root context, created on first use
+    private volatile Map<String, FunctionPrototype<?>> nativeFuncs;
 
     public MapContext(ExpressionContext parentContext, Map<String, Expression<?>> vars, Map<String, FunctionPrototype<?>> funcs) {
         this.parentContext = parentContext;
-        this.vars = vars != null ? new HashMap<>(vars) : null;
-        this.funcs = funcs != null ? new HashMap<>(funcs) : null;
+        this.vars = vars != null ? Collections.unmodifiableMap(new HashMap<>(vars)) : null;
+        this.funcs = funcs != null ? Collections.unmodifiableMap(new HashMap<>(funcs)) : null;
+        this.immutable = parentContext == null || parentContext.isImmutable();
     }
 
     @Override
     public <T> Expression<T> getVar(String key) {
-        if (vars != null && vars.containsKey(key)) {
-            try {
-                @SuppressWarnings("unchecked")
-                final Expression<T> val = (Expression<T>) vars.get(key);
-                return val;
-            } catch (ClassCastException e) {
-                throw new DoclerkException("Failed to get property " + key, e);
-            }
-        } else if (parentContext != null) {
-            return parentContext.getVar(key);
-        } else {
-            throw new DoclerkException("undefined var: " + key);
-        }
+        return this.<T>findVar(key).orElseThrow(() -> new UndefinedVariableException(key));
     }
 
     @Override
     public <T> FunctionPrototype<T> getFunction(String name) {
-        if (funcs != null && funcs.containsKey(name)) {
-            @SuppressWarnings("unchecked")
-            final FunctionPrototype<T> macro = (FunctionPrototype<T>) funcs.get(name);
-            return macro;
-        } else if (parentContext != null) {
-            return parentContext.getFunction(name);
-        } else {
-            throw new UndefinedFunctionException("Undefined function: " + name);
+        return this.<T>findFunction(name).orElseThrow(() -> new UndefinedFunctionException(name));
+    }
+
+    @Override
+    public <T> Optional<Expression<T>> findVar(String key) {
+        @SuppressWarnings("unchecked")
+        final Expression<T> found = vars != null ? (Expression<T>) vars.get(key) : null;
+        if (found != null) {
+            return Optional.of(found);
         }
+        return parentContext != null ? parentContext.findVar(key) : Optional.empty();
+    }
+
+    /**
+     * Looks a function up in this context, then in its parent. A root context
+     * falls back to its own {@link NativeFunctions#newScope() native functions}.
+     */
+    @Override
+    public <T> Optional<FunctionPrototype<T>> findFunction(String name) {
+        @SuppressWarnings("unchecked")
+        final FunctionPrototype<T> found = funcs != null ? (FunctionPrototype<T>) funcs.get(name) : null;
+        if (found != null) {
+            return Optional.of(found);
+        }
+        if (parentContext != null) {
+            return parentContext.findFunction(name);
+        }
+        @SuppressWarnings("unchecked")
+        final FunctionPrototype<T> nativeFunc = (FunctionPrototype<T>) nativeFuncs().get(name);
+        return Optional.ofNullable(nativeFunc);
+    }
+
+    private Map<String, FunctionPrototype<?>> nativeFuncs() {
+        Map<String, FunctionPrototype<?>> result = nativeFuncs;
+        if (result == null) {
+            synchronized (this) {
+                result = nativeFuncs;
+                if (result == null) {
+                    nativeFuncs = result = NativeFunctions.newScope();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A map context is immutable as long as its parent is: its own entries are
+     * copied when it is created.
+     */
+    @Override
+    public boolean isImmutable() {
+        return immutable;
     }
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A function implemented in Java, taking and returning strings.
+ */
+public final class NativeFunction implements FunctionPrototype<String> {
+
+    private final String name;
+    private final int minArgs;
+    private final int maxArgs;
+    private final boolean pure;
+    private final Function<String[], String> body;
+
+    private NativeFunction(String name, int minArgs, int maxArgs, boolean pure, Function<String[], String> body) {
+        this.name = name;
+        this.minArgs = minArgs;
+        this.maxArgs = maxArgs;
+        this.pure = pure;
+        this.body = body;
+    }
+
+    /**
+     * Creates a function whose result only depends on its arguments.
+     *
+     * @param name the function name, used in error messages
+     * @param minArgs the minimum number of arguments
+     * @param maxArgs the maximum number of arguments, {@link Integer#MAX_VALUE} if unbounded
+     * @param body the function body, given the argument values
+     * @return the function
+     */
+    public static NativeFunction pure(String name, int minArgs, int maxArgs, Function<String[], String> body) {
+        return new NativeFunction(name, minArgs, maxArgs, true, body);
+    }
+
+    /**
+     * Creates a function whose result may change from one call to the next.
+     *
+     * @param name the function name, used in error messages
+     * @param minArgs the minimum number of arguments
+     * @param maxArgs the maximum number of arguments, {@link Integer#MAX_VALUE} if unbounded
+     * @param body the function body, given the argument values
+     * @return the function
+     */
+    public static NativeFunction impure(String name, int minArgs, int maxArgs, Function<String[], String> body) {
+        return new NativeFunction(name, minArgs, maxArgs, false, body);
+    }
+
+    @Override
+    public String call(List<Expression<?>> args) {
+        return call(args.toArray(new Expression<?>[args.size()]));
+    }
+
+    @Override
+    public String call(Expression<?>[] frame) {
+        if (frame.length < minArgs || frame.length > maxArgs) {
+            throw new DoclerkException("Wrong number of arguments for function " + name + ": expected "
+                    + (minArgs == maxArgs ? String.valueOf(minArgs) : maxArgs == Integer.MAX_VALUE ? "at least " + minArgs : minArgs + " to " + maxArgs)
+                    + ", got " + frame.length);
+        }
+        final String[] values = new String[frame.length];
+        for (int i = 0; i < frame.length; i++) {
+            values[i] = String.valueOf(frame[i].evaluate());
+        }
+        return body.apply(values);
+    }
+
+    @Override
+    public boolean isPure() {
+        return pure;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The functions of the {@link FunctionLibrary libraries} found on the class path.
+ */
+public final class NativeFunctions {
+
+    private static final Logger logger = LogManager.getLogger(NativeFunctions.class);
+
+    private NativeFunctions() {
+    }
+
+    /**
+     * @param <T> the function result type
+     * @param name the function name
+     * @return the native function of that name, if any, shared by the callers
+     * of this method
+     */
+    public static <T> Optional<FunctionPrototype<T>> find(String name) {
+        @SuppressWarnings("unchecked")
+        final FunctionPrototype<T> function = (FunctionPrototype<T>) Holder.FUNCTIONS.get(name);
+        return Optional.ofNullable(function);
+    }
+
+    /**
+     * @return all the native functions, by name
+     */
+    public static Map<String, FunctionPrototype<?>> getAll() {
+        return Holder.FUNCTIONS;
+    }
+
+    /**
+     * @return new instances of all the native functions, by name, whose state
+     * is not shared with any other scope
+     */
+    public static Map<String, FunctionPrototype<?>> newScope() {
+        return functions(Holder.LIBRARIES);
+    }
+
+    private static Map<String, FunctionPrototype<?>> functions(List<FunctionLibrary> libraries) {
+        final Map<String, FunctionPrototype<?>> functions = new HashMap<>();
+        for (FunctionLibrary library : libraries) {
+            final Map<String, FunctionPrototype<?>> libraryFunctions;
+            try {
+                libraryFunctions = library.functions();
+            } catch (RuntimeException e) {
+                logger.error("Failed to list the functions of library {}", library.getClass().getName(), e);
+                continue;
+            }
+            libraryFunctions.forEach((name, function) -> {
+                if (functions.putIfAbsent(name, function) != null) {
+                    logger.warn("Native function {} of {} is hidden by another library", name, library.getClass().getName());
+                }
+            });
+        }
+        return Collections.unmodifiableMap(functions);
+    }
+
+    private static final class Holder {
+
+        static final List<FunctionLibrary> LIBRARIES = load();
+        static final Map<String, FunctionPrototype<?>> FUNCTIONS = functions(LIBRARIES);
+
+        private static List<FunctionLibrary> load() {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (classLoader == null) {
+                classLoader = FunctionLibrary.class.getClassLoader();
+            }
+            final List<FunctionLibrary> libraries = new ArrayList<>();
+            final Iterator<FunctionLibrary> providers = ServiceLoader.load(FunctionLibrary.class, classLoader).iterator();
+            while (true) {
+                // A broken library is skipped, the iterator moves on to the next one
+                try {
+                    if (!providers.hasNext()) {
+                        break;
+                    }
+                    libraries.add(providers.next());
+                } catch (ServiceConfigurationError e) {
+                    logger.error("Failed to load a function library", e);
+                }
+            }
+            return libraries;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded, weak hash-consing table of compiled expression nodes.
+ */
+final class NodeTable {
+
+    static final NodeTable NONE = new NodeTable(0);
+
+    private final int capacity;
+    private final Map<CompiledExpression<?>, WeakReference<CompiledExpression<?>>> nodes;
+
+    NodeTable(int capacity) {
+        this.capacity = capacity;
+        this.nodes = new WeakHashMap<>(Math.min(capacity, 256));
+    }
+
+    /**
+     * @param <E> the node type
+     * @param node a node whose children are interned
+     * @return the node equal to the given one which is shared, possibly the given one
+     */
+    <E extends CompiledExpression<?>> E intern(E node) {
+        if (capacity == 0) {
+            return node;
+        }
+        synchronized (nodes) {
+            final WeakReference<CompiledExpression<?>> ref = nodes.get(node);
+            @SuppressWarnings("unchecked")
+            final E shared = ref != null ? (E) ref.get() : null;
+            if (shared != null) {
+                return shared;
+            }
+            if (nodes.size() < capacity) {
+                nodes.put(node, new WeakReference<>(node));
+            }
+            return node;
+        }
+    }
+
+    int size() {
+        synchronized (nodes) {
+            return nodes.size();
+        }
+    }
+
+    void clear() {
+        synchronized (nodes) {
+            nodes.clear();
+        }
+    }
+
+}
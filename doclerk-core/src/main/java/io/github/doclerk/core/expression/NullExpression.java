@@ -15,12 +15,34 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.util.function.Predicate;
 
-public class NullExpression<T> implements Expression<T> {
+
+public class NullExpression<T> implements Expression<T>, CompiledExpression<T> {
 
     @Override
     public T evaluate() {
         return null;
     }
 
+    @Override
+    public T evaluate(ExpressionContext context, Expression<?>[] frame) {
+        return null;
+    }
+
+    @Override
+    public Expression<T> bind(ExpressionContext context) {
+        return this;
+    }
+
+    @Override
+    public Expression<T> bindArgument(ExpressionContext context, Expression<?>[] frame) {
+        return this;
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return true;
+    }
+
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in profiler of the calls, time and allocations of expression evaluation.
+ */
+public final class Profiler {
+
+    public static final String FUNCTION = "function";
+    public static final String VARIABLE = "variable";
+
+    private static volatile Profiler active;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+    private Profiler() {
+    }
+
+    /**
+     * Starts a new profiler, replacing the active one if any.
+     *
+     * @return the started profiler
+     */
+    public static Profiler start() {
+        final Profiler profiler = new Profiler();
+        active = profiler;
+        return profiler;
+    }
+
+    /**
+     * Stops the active profiler.
+     *
+     * @return the stopped profiler, or {@code null} if none was active
+     */
+    public static Profiler stop() {
+        final Profiler profiler = active;
+        active = null;
+        return profiler;
+    }
+
+    /**
+     * @return the active profiler, or {@code null} if profiling is off
+     */
+    static Profiler active() {
+        return active;
+    }
+
+    /**
+     * Records the start of an evaluation. The returned frame must be
+     * {@link Frame#exit() exited} when the evaluation ends, whatever the outcome.
+     *
+     * @param kind {@link #FUNCTION} or {@link #VARIABLE}
+     * @param name the function or variable name
+     * @return the evaluation frame
+     */
+    Frame enter(String kind, String name) {
+        final Frame frame = new Frame(entries.computeIfAbsent(kind + ':' + name, key -> new Entry(kind, name)), current.get());
+        current.set(frame);
+        return frame;
+    }
+
+    /**
+     * @return the recorded entries, from the highest to the lowest exclusive time
+     */
+    public List<Entry> getEntries() {
+        final List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong(Entry::getExclusiveNanos).reversed());
+        return sorted;
+    }
+
+    /**
+     * @param top the maximum number of rows
+     * @return a table of the entries with the highest exclusive time
+     */
+    public String report(int top) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-9s %-32s %10s %12s %12s %14s %14s%n",
+                "kind", "name", "calls", "incl. ms", "excl. ms", "incl. bytes", "excl. bytes"));
+        getEntries().stream().limit(top).forEachOrdered(e -> sb.append(String.format(Locale.ROOT, "%-9s %-32s %10d %12.3f %12.3f %14d %14d%n",
+                e.kind, e.name, e.getCalls(), e.getInclusiveNanos() / 1e6, e.getExclusiveNanos() / 1e6, e.getInclusiveBytes(), e.getExclusiveBytes())));
+        return sb.toString();
+    }
+
+    /**
+     * Writes all the entries to a JSON file, as an array of objects.
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("[");
+            String separator = "\n";
+            for (Entry e : getEntries()) {
+                out.write(separator);
+                out.write("  {\"kind\": \"" + e.kind + "\", \"name\": \"" + escape(e.name)
+                        + "\", \"calls\": " + e.getCalls()
+                        + ", \"inclusiveNanos\": " + e.getInclusiveNanos()
+                        + ", \"exclusiveNanos\": " + e.getExclusiveNanos()
+                        + ", \"inclusiveBytes\": " + e.getInclusiveBytes()
+                        + ", \"exclusiveBytes\": " + e.getExclusiveBytes() + "}");
+                separator = ",\n";
+            }
+            out.write("\n]\n");
+        }
+    }
+
+    private static String escape(String s) {
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            if (THREADS instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // Not a HotSpot JVM
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATIONS != null ? ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0L;
+    }
+
+    /**
+     * The figures recorded for a function or a variable.
+     */
+    public static final class Entry {
+
+        private final String kind;
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder inclusiveNanos = new LongAdder();
+        private final LongAdder exclusiveNanos = new LongAdder();
+        private final LongAdder inclusiveBytes = new LongAdder();
+        private final LongAdder exclusiveBytes = new LongAdder();
+
+        private Entry(String kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getInclusiveNanos() {
+            return inclusiveNanos.sum();
+        }
+
+        public long getExclusiveNanos() {
+            return exclusiveNanos.sum();
+        }
+
+        public long getInclusiveBytes() {
+            return inclusiveBytes.sum();
+        }
+
+        public long getExclusiveBytes() {
+            return exclusiveBytes.sum();
+        }
+
+    }
+
+    /**
+     * A running evaluation.
+     */
+    final class Frame {
+
+        private final Entry entry;
+        private final Frame parent;
+        private final long startNanos;
+        private final long startBytes;
+        private long childNanos;
+        private long childBytes;
+
+        private Frame(Entry entry, Frame parent) {
+            this.entry = entry;
+            this.parent = parent;
+            this.startBytes = allocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        void exit() {
+            final long nanos = System.nanoTime() - startNanos;
+            final long bytes = allocatedBytes() - startBytes;
+            entry.calls.increment();
+            entry.inclusiveNanos.add(nanos);
+            entry.exclusiveNanos.add(nanos - childNanos);
+            entry.inclusiveBytes.add(bytes);
+            entry.exclusiveBytes.add(bytes - childBytes);
+            if (parent != null) {
+                parent.childNanos += nanos;
+                parent.childBytes += bytes;
+            }
+            current.set(parent);
+        }
+
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in pool sharing identical rendered strings.
+ */
+public final class RenderedStringPool {
+
+    public static final String CAPACITY_PROPERTY = "doclerk.stringPool.capacity";
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    private static volatile RenderedStringPool active;
+
+    private final int capacity;
+    private final Map<String, String> strings;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private RenderedStringPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity may not be negative");
+        }
+        this.capacity = capacity;
+        this.strings = new ConcurrentHashMap<>(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Enables a new pool, replacing the enabled one if any.
+     *
+     * @return the enabled pool
+     */
+    public static RenderedStringPool enable() {
+        return enable(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Enables a new pool, replacing the enabled one if any.
+     *
+     * @param capacity the maximum number of distinct strings in the pool
+     * @return the enabled pool
+     */
+    public static RenderedStringPool enable(int capacity) {
+        final RenderedStringPool pool = new RenderedStringPool(capacity);
+        active = pool;
+        return pool;
+    }
+
+    /**
+     * Disables the enabled pool. Strings already shared remain so.
+     *
+     * @return the disabled pool, or {@code null} if none was enabled
+     */
+    public static RenderedStringPool disable() {
+        final RenderedStringPool pool = active;
+        active = null;
+        return pool;
+    }
+
+    /**
+     * @param rendered a rendered string, may be {@code null}
+     * @return the pooled instance equal to the string if a pool is enabled, else the string itself
+     */
+    public static String pooled(String rendered) {
+        final RenderedStringPool pool = active;
+        return pool == null || rendered == null ? rendered : pool.intern(rendered);
+    }
+
+    /**
+     * @param s a string
+     * @return the instance equal to the string which is shared, possibly the given one
+     */
+    public String intern(String s) {
+        final String shared = strings.get(s);
+        if (shared != null) {
+            hits.incrementAndGet();
+            return shared;
+        }
+        misses.incrementAndGet();
+        if (strings.size() >= capacity) {
+            return s;
+        }
+        final String previous = strings.putIfAbsent(s, s);
+        return previous != null ? previous : s;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return strings.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", size=" + size() + "/" + capacity;
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Inline cache entry: what a name resolved to in an immutable context.
+ *
+ * @param <V> the type of the resolved entry
+ */
+final class Resolution<V> extends WeakReference<ExpressionContext> {
+
+    static final int MAX_CONTEXTS = 4;
+    static final Resolution<?>[] NONE = new Resolution<?>[0];
+
+    // Weak as well: the entry usually refers back to its context, which it would keep alive
+    private final WeakReference<V> value;
+
+    private Resolution(ExpressionContext context, V value) {
+        super(context);
+        this.value = new WeakReference<>(value);
+    }
+
+    /**
+     * @param resolutions the cached resolutions
+     * @param context the context of the lookup
+     * @return the entry resolved in the given context, or {@code null} if not cached
+     */
+    static Object find(Resolution<?>[] resolutions, ExpressionContext context) {
+        for (Resolution<?> resolution : resolutions) {
+            if (resolution.get() == context) {
+                return resolution.value.get();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param resolutions the cached resolutions, which are not modified
+     * @param context the context of the lookup
+     * @param value the resolved entry
+     * @return the resolutions to cache, the given ones if the context may
+     * change or if there is no room left
+     */
+    static Resolution<?>[] add(Resolution<?>[] resolutions, ExpressionContext context, Object value) {
+        if (!context.isImmutable()) {
+            return resolutions;
+        }
+        for (int i = 0; i < resolutions.length; i++) {
+            final ExpressionContext cached = resolutions[i].get();
+            if (cached == null || cached == context || resolutions[i].value.get() == null) {
+                final Resolution<?>[] added = resolutions.clone();
+                added[i] = new Resolution<>(context, value);
+                return added;
+            }
+        }
+        if (resolutions.length == MAX_CONTEXTS) {
+            // Megamorphic: plain lookups, without allocating, until a context is collected
+            return resolutions;
+        }
+        final Resolution<?>[] added = Arrays.copyOf(resolutions, resolutions.length + 1);
+        added[resolutions.length] = new Resolution<>(context, value);
+        return added;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A function call specialized for a context: its names are resolved once.
+ */
+final class ResolvedFunction<R> implements CompiledExpression<R> {
+
+    private final CompiledFunction<R> generic;
+    private final FunctionPrototype<R> function;
+    private final boolean pure;
+    private final CompiledExpression<?>[] args;
+
+    ResolvedFunction(CompiledFunction<R> generic, FunctionPrototype<R> function, CompiledExpression<?>[] args) {
+        this.generic = generic;
+        this.function = function;
+        this.pure = function.isPure();
+        this.args = args;
+    }
+
+    @Override
+    public R evaluate(ExpressionContext context, Expression<?>[] frame) {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return call(context, frame);
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.FUNCTION, generic.getName());
+        try {
+            return call(context, frame);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            callTo(context, frame, out);
+            return;
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.FUNCTION, generic.getName());
+        try {
+            callTo(context, frame, out);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    private R call(ExpressionContext context, Expression<?>[] frame) {
+        final Expression<?>[] callFrame = callFrame(context, frame);
+        return pure
+                ? FunctionResultCache.getInstance().call(function, callFrame)
+                : function.call(callFrame);
+    }
+
+    private void callTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final Expression<?>[] callFrame = callFrame(context, frame);
+        if (pure) {
+            out.append(String.valueOf(FunctionResultCache.getInstance().call(function, callFrame)));
+        } else {
+            function.callTo(callFrame, out);
+        }
+    }
+
+    private Expression<?>[] callFrame(ExpressionContext context, Expression<?>[] frame) {
+        if (args.length == 0) {
+            return FunctionPrototype.NO_ARGS;
+        }
+        final Expression<?>[] callFrame = new Expression<?>[args.length];
+        for (int i = 0; i < args.length; i++) {
+            callFrame[i] = args[i].bindArgument(context, frame);
+        }
+        return callFrame;
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return generic.isConstant(constantVars, pureFunctions);
+    }
+
+    @Override
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        generic.collectReferences(variables, functions);
+    }
+
+    @Override
+    public CompiledExpression<R> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return generic.fold(context, constantVars, pureFunctions);
+    }
+
+    @Override
+    public CompiledExpression<R> specialize(ExpressionContext context) {
+        return generic.specialize(context);
+    }
+
+    @Override
+    public CompiledExpression<R> withParameters(List<String> parameterNames) {
+        return generic.withParameters(parameterNames);
+    }
+
+}
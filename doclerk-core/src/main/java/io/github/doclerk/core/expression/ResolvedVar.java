@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A variable reference specialized for a context: it is looked up once.
+ */
+final class ResolvedVar<T> implements CompiledExpression<T> {
+
+    private final CompiledVar<T> generic;
+    private final Expression<T> var;
+
+    ResolvedVar(CompiledVar<T> generic, Expression<T> var) {
+        this.generic = generic;
+        this.var = var;
+    }
+
+    @Override
+    public T evaluate(ExpressionContext context, Expression<?>[] frame) {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return var.evaluate();
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.VARIABLE, generic.getName());
+        try {
+            return var.evaluate();
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            var.evaluateTo(out);
+            return;
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.VARIABLE, generic.getName());
+        try {
+            var.evaluateTo(out);
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return generic.isConstant(constantVars, pureFunctions);
+    }
+
+    @Override
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        generic.collectReferences(variables, functions);
+    }
+
+    @Override
+    public CompiledExpression<T> fold(ExpressionContext context, Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return generic.fold(context, constantVars, pureFunctions);
+    }
+
+    @Override
+    public CompiledExpression<T> specialize(ExpressionContext context) {
+        return generic.specialize(context);
+    }
+
+    @Override
+    public CompiledExpression<T> withParameters(List<String> parameterNames) {
+        return generic.withParameters(parameterNames);
+    }
+
+}
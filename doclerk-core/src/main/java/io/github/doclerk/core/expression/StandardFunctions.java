@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The functions available to every template: upper, lower, join, padLeft, padRight,
+ * formatDate, today and counter.
+ */
+public class StandardFunctions implements FunctionLibrary {
+
+    @Override
+    public Map<String, FunctionPrototype<?>> functions() {
+        final Map<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+        final Map<String, FunctionPrototype<?>> functions = new HashMap<>();
+        add(functions, NativeFunction.pure("upper", 1, 1, args -> args[0].toUpperCase(Locale.ROOT)));
+        add(functions, NativeFunction.pure("lower", 1, 1, args -> args[0].toLowerCase(Locale.ROOT)));
+        add(functions, NativeFunction.pure("join", 1, Integer.MAX_VALUE, args -> String.join(args[0], Arrays.asList(args).subList(1, args.length))));
+        add(functions, NativeFunction.pure("padLeft", 2, 3, args -> pad(args, true)));
+        add(functions, NativeFunction.pure("padRight", 2, 3, args -> pad(args, false)));
+        add(functions, NativeFunction.pure("formatDate", 2, 2, args -> formatter(args[1]).format(parseDate(args[0]))));
+        add(functions, NativeFunction.impure("today", 1, 1, args -> formatter(args[0]).format(LocalDate.now())));
+        add(functions, NativeFunction.impure("counter", 1, 1, args -> String.valueOf(counters.computeIfAbsent(args[0], name -> new AtomicInteger()).incrementAndGet())));
+        return functions;
+    }
+
+    private static void add(Map<String, FunctionPrototype<?>> functions, NativeFunction function) {
+        functions.put(function.getName(), function);
+    }
+
+    private static String pad(String[] args, boolean left) {
+        final int width;
+        try {
+            width = Integer.parseInt(args[1].trim());
+        } catch (NumberFormatException e) {
+            throw new DoclerkException("Invalid width: " + args[1], e);
+        }
+        final char padChar = args.length > 2 && !args[2].isEmpty() ? args[2].charAt(0) : ' ';
+        final String s = args[0];
+        if (s.length() >= width) {
+            return s;
+        }
+        final StringBuilder sb = new StringBuilder(width);
+        if (!left) {
+            sb.append(s);
+        }
+        for (int i = s.length(); i < width; i++) {
+            sb.append(padChar);
+        }
+        if (left) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new DoclerkException("Invalid date: " + date, e);
+        }
+    }
+
+    private static DateTimeFormatter formatter(String pattern) {
+        try {
+            return DateTimeFormatter.ofPattern(pattern);
+        } catch (IllegalArgumentException e) {
+            throw new DoclerkException("Invalid date pattern: " + pattern, e);
+        }
+    }
+
+}
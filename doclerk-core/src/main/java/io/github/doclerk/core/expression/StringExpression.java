@@ -15,8 +15,12 @@
  */
 package io.github.doclerk.core.expression;
 
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Predicate;
 
-public class StringExpression implements Expression<String> {
+
+public class StringExpression implements Expression<String>, CompiledExpression<String> {
 
     private final String theString;
 
@@ -29,4 +33,44 @@ public class StringExpression implements Expression<String> {
         return theString;
     }
 
+    @Override
+    public String evaluate(ExpressionContext context, Expression<?>[] frame) {
+        return theString;
+    }
+
+    @Override
+    public void evaluateTo(Appendable out) throws IOException {
+        out.append(theString);
+    }
+
+    @Override
+    public void evaluateTo(ExpressionContext context, Expression<?>[] frame, Appendable out) throws IOException {
+        out.append(theString);
+    }
+
+    @Override
+    public Expression<String> bind(ExpressionContext context) {
+        return this;
+    }
+
+    @Override
+    public Expression<String> bindArgument(ExpressionContext context, Expression<?>[] frame) {
+        return this;
+    }
+
+    @Override
+    public boolean isConstant(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj == this || obj instanceof StringExpression && Objects.equals(theString, ((StringExpression) obj).theString);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(theString);
+    }
+
 }
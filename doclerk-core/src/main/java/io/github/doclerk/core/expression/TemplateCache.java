@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of compiled templates keyed by their source, sized by the
+ * {@value #CAPACITY_PROPERTY} system property.
+ */
+public class TemplateCache {
+
+    public static final String CAPACITY_PROPERTY = "doclerk.templateCache.capacity";
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final TemplateCache INSTANCE = new TemplateCache(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+
+    private final int capacity;
+    private final Map<String, CompiledExpression<String>> templates;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final NodeTable nodes;
+
+    public TemplateCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity may not be negative");
+        }
+        this.capacity = capacity;
+        // Room for the distinct nodes of as many templates, a few each
+        this.nodes = new NodeTable(capacity * 4);
+        this.templates = new LinkedHashMap<String, CompiledExpression<String>>(Math.min(capacity, 256), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression<String>> eldest) {
+                return size() > TemplateCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all templates of the running JVM
+     */
+    public static TemplateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the compiled form of a template, parsing it on first use.
+     *
+     * @param source the template source
+     * @return the shared compiled template
+     * @throws InvalidSyntaxException if the template cannot be parsed
+     */
+    public CompiledExpression<String> get(String source) {
+        CompiledExpression<String> compiled;
+        synchronized (templates) {
+            compiled = templates.get(source);
+        }
+        if (compiled != null) {
+            hits.incrementAndGet();
+            return compiled;
+        }
+        misses.incrementAndGet();
+        // Parse outside of the lock: a concurrent miss on the same source only costs a duplicate parse
+        compiled = ExpressionLexer.template(source, nodes);
+        synchronized (templates) {
+            templates.put(source, compiled);
+        }
+        return compiled;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of distinct expression nodes shared by the cached templates
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Drops all cached templates and resets the counters.
+     */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+        nodes.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHitCount() + ", misses=" + getMissCount() + ", size=" + size() + "/" + capacity + ", nodes=" + getNodeCount();
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+/**
+ * Specializes hot templates for their context, after the number of evaluations set
+ * by the {@value #THRESHOLD_PROPERTY} system property.
+ */
+public final class TemplateCompiler {
+
+    public static final String THRESHOLD_PROPERTY = "doclerk.templateCompiler.threshold";
+    public static final int DEFAULT_THRESHOLD = 100;
+
+    private static final int THRESHOLD = Math.max(0, Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+
+    private TemplateCompiler() {
+    }
+
+    /**
+     * @return the number of evaluations after which a template is specialized, {@code 0} if never
+     */
+    public static int getThreshold() {
+        return THRESHOLD;
+    }
+
+    /**
+     * Specializes an expression for a context.
+     *
+     * @param <T> the type the expression evaluates to
+     * @param expression the expression
+     * @param context the context the expression is evaluated in
+     * @return the specialized expression, or the expression itself if the context may change
+     */
+    public static <T> CompiledExpression<T> compile(CompiledExpression<T> expression, ExpressionContext context) {
+        return context != null && context.isImmutable() ? expression.specialize(context) : expression;
+    }
+
+}
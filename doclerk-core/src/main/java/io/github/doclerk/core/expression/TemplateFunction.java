@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import io.github.doclerk.core.exception.DoclerkException;
+
+/**
+ * A function whose body is a string template, parsed once when the function is created.
+ */
+public class TemplateFunction implements FunctionPrototype<String> {
+
+    private final String name;
+    private final List<String> parameterNames;
+    private final CompiledExpression<String> body;
+    private final Supplier<? extends ExpressionContext> context;
+    private final boolean pure;
+    private volatile Specialization specialization;
+    // Racy on purpose: a lost update only delays specialization
+    private int calls;
+
+    /**
+     * @param name the function name, used in error messages
+     * @param parameterNames the parameter names, in positional order
+     * @param body the body template
+     * @param context supplies the context the body is evaluated in
+     * @throws InvalidSyntaxException if a parameter name is invalid or duplicated, or if the body cannot be parsed
+     */
+    public TemplateFunction(String name, List<String> parameterNames, String body, Supplier<? extends ExpressionContext> context) {
+        this.name = name;
+        this.parameterNames = Collections.unmodifiableList(new ArrayList<>(validateParameterNames(name, parameterNames)));
+        this.body = body == null
+                ? new NullExpression<>()
+                : TemplateCache.getInstance().get(body).withParameters(this.parameterNames);
+        this.context = context;
+        this.pure = false;
+    }
+
+    private TemplateFunction(TemplateFunction function, boolean pure) {
+        this.name = function.name;
+        this.parameterNames = function.parameterNames;
+        this.body = function.body;
+        this.context = function.context;
+        this.pure = pure;
+    }
+
+    /**
+     * @return a copy of this function, sharing the same body, whose results are
+     * memoized when it is called with all its arguments
+     * @see FunctionPrototype#isPure()
+     */
+    public TemplateFunction pure() {
+        return pure ? this : new TemplateFunction(this, true);
+    }
+
+    @Override
+    public boolean isPure() {
+        return pure;
+    }
+
+    /**
+     * Tells whether the body of this function only depends on its arguments,
+     * constant variables and pure functions.
+     *
+     * @param constantVars tells which variables are constant
+     * @param pureFunctions tells which functions are pure
+     * @return {@code true} if this function may be marked pure
+     * @see CompiledExpression#isConstant(Predicate, Predicate)
+     */
+    public boolean hasConstantBody(Predicate<String> constantVars, Predicate<String> pureFunctions) {
+        return body.isConstant(constantVars, pureFunctions);
+    }
+
+    /**
+     * Collects the names of the variables and functions the body of this
+     * function references, its own parameters excepted.
+     *
+     * @param variables receives the variable names
+     * @param functions receives the function names
+     */
+    public void collectReferences(Set<String> variables, Set<String> functions) {
+        body.collectReferences(variables, functions);
+    }
+
+    @Override
+    public String call(List<Expression<?>> args) {
+        return call(args != null ? args.toArray(new Expression<?>[args.size()]) : NO_ARGS);
+    }
+
+    @Override
+    public String call(Expression<?>[] frame) {
+        checkArgumentCount(frame);
+        final ExpressionContext bodyContext = context.get();
+        return body(bodyContext, frame).evaluate(bodyContext, frame);
+    }
+
+    @Override
+    public void callTo(Expression<?>[] frame, Appendable out) throws IOException {
+        checkArgumentCount(frame);
+        final ExpressionContext bodyContext = context.get();
+        body(bodyContext, frame).evaluateTo(bodyContext, frame, out);
+    }
+
+    /**
+     * @return whether a call passes all the arguments: omitted ones are
+     * resolved in the context, so the result of such a call is not memoized
+     */
+    boolean isFullCall(Expression<?>[] frame) {
+        return frame.length >= parameterNames.size();
+    }
+
+    /**
+     * @return the body, specialized for the context once this function is hot,
+     * unless the call omits arguments
+     * @see TemplateCompiler
+     */
+    private CompiledExpression<String> body(ExpressionContext bodyContext, Expression<?>[] frame) {
+        if (!isFullCall(frame)) {
+            return body;
+        }
+        final Specialization current = specialization;
+        if (current != null) {
+            return current.context == bodyContext ? current.body : body;
+        }
+        final int threshold = TemplateCompiler.getThreshold();
+        if (calls < threshold && ++calls == threshold) {
+            specialization = new Specialization(bodyContext, TemplateCompiler.compile(body, bodyContext));
+        }
+        return body;
+    }
+
+    private void checkArgumentCount(Expression<?>[] frame) {
+        if (frame.length > parameterNames.size()) {
+            throw new DoclerkException("Too many arguments for function " + name + ": expected " + parameterNames.size() + ", got " + frame.length);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    private static List<String> validateParameterNames(String name, List<String> parameterNames) {
+        if (parameterNames == null) {
+            return Collections.emptyList();
+        }
+        Set<String> seen = new HashSet<>(parameterNames.size());
+        for (String parameterName : parameterNames) {
+            if (parameterName == null || parameterName.isEmpty()) {
+                throw new InvalidSyntaxException("Function " + name + ": empty parameter name");
+            }
+            for (int i = 0; i < parameterName.length(); i++) {
+                if (!Character.isLetterOrDigit(parameterName.charAt(i))) {
+                    throw new InvalidSyntaxException("Function " + name + ": invalid parameter name \"" + parameterName + "\"");
+                }
+            }
+            if (!seen.add(parameterName)) {
+                throw new InvalidSyntaxException("Function " + name + ": duplicate parameter name \"" + parameterName + "\"");
+            }
+        }
+        return parameterNames;
+    }
+
+    private static final class Specialization {
+
+        private final ExpressionContext context;
+        private final CompiledExpression<String> body;
+
+        Specialization(ExpressionContext context, CompiledExpression<String> body) {
+            this.context = context;
+            this.body = body;
+        }
+
+    }
+
+}
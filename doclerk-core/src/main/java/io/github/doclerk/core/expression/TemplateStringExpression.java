@@ -15,122 +15,53 @@
  */
 package io.github.doclerk.core.expression;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.io.IOException;
 
 import io.github.doclerk.core.model.DocExpression;
 
 
 public class TemplateStringExpression extends DocExpression<String> {
 
-    private final Expression<String> expression;
-    private final ExpressionParser ep;
+    private static final CompiledExpression<String> NULL = new NullExpression<>();
+
+    // The shared compiled template, evaluated in the context of this document
+    // part, until it is hot enough to be specialized for that context
+    private volatile CompiledExpression<String> compiled;
+    // Racy on purpose: a lost update only delays specialization
+    private int evaluations;
 
     public TemplateStringExpression(String expression, ExpressionContext context) {
+        this(expression, context, TemplateCache.getInstance());
+    }
+
+    public TemplateStringExpression(String expression, ExpressionContext context, TemplateCache cache) {
+        this(expression == null ? NULL : cache.get(expression), context);
+    }
+
+    TemplateStringExpression(CompiledExpression<String> compiled, ExpressionContext context) {
         super(context);
-        this.ep = new ExpressionParser(context);
-        this.expression = expression == null ? new NullExpression<>() : parseYmlString(expression, context);
+        this.compiled = compiled;
     }
 
     @Override
     public String evaluate() {
-        return expression.evaluate();
+        return RenderedStringPool.pooled(compiled().evaluate(context, FunctionPrototype.NO_ARGS));
     }
 
-    final Expression<String> parseYmlString(String expression, ExpressionContext context) {
-        List<Expression<String>> expr = new LinkedList<>();
-        StringBuilder token = new StringBuilder();
-        int depth = 0;
-        boolean inFunc = false;
-        boolean inVar = false;
-        for (int i = 0; i < expression.length(); i++) {
-            char a = expression.charAt(i);
-            String tokenStr;
-            switch (a) {
-                case '$':
-                    if (!inVar && !inFunc) {
-                        tokenStr = token.toString();
-                        if (!tokenStr.isEmpty()) {
-                            expr.add(new StringExpression(tokenStr));
-                            token = new StringBuilder();
-                        }
-                        inFunc = true;
-                    }
-                    token.append(a);
-                    break;
-                case '(':
-                    token.append(a);
-                    if (inFunc) {
-                        depth++;
-                    }
-                    break;
-                case ')':
-                    token.append(a);
-                    if (inFunc) {
-                        depth--;
-                        if (depth == 0) {
-                            expr.add(ep.parseExpression(token.toString(), String.class));
-                            inFunc = false;
-                            token = new StringBuilder();
-                        }
-                    }
-                    break;
-                case '&':
-                    if (!inFunc) {
-                        tokenStr = token.toString();
-                        if (!tokenStr.isEmpty()) {
-                            if (inVar) {
-                                expr.add(ep.parseExpression(tokenStr, String.class));
-                            } else {
-                                expr.add(new StringExpression(tokenStr));
-                            }
-                            token = new StringBuilder();
-                        }
-                        inVar = true;
-                    }
-                    token.append(a);
-                    break;
-                default:
-                    if (!Character.isLetterOrDigit(a) && inVar) {
-                        expr.add(ep.parseExpression(token.toString(), String.class));
-                        inVar = false;
-                        token = new StringBuilder();
-                    }
-                    token.append(a);
-            }
-        }
-        final String tokenStr = token.toString();
-        if (!tokenStr.isEmpty() && inVar) {
-            expr.add(ep.parseExpression(token.toString(), String.class));
-        } else {
-            expr.add(new StringExpression(tokenStr));
-        }
-
-        return expr.size() > 1 ? new ConcatStrExpression(expr) : expr.get(0);
+    @Override
+    public void evaluateTo(Appendable out) throws IOException {
+        compiled().evaluateTo(context, FunctionPrototype.NO_ARGS, out);
     }
 
-    private static class ConcatStrExpression implements Expression<String> {
-
-        private final List<Expression<String>> strings;
-
-        ConcatStrExpression(List<Expression<String>> expr) {
-            this.strings = expr;
-        }
-
-        @Override
-        public String evaluate() {
-            StringBuilder sb = new StringBuilder();
-            for (Expression<String> str : strings) {
-                String part;
-                try {
-                    part = str.evaluate();
-                } catch (Exception e) {
-                    part = e.getMessage();
-                }
-                sb.append(part);
-            }
-            return sb.toString();
+    private CompiledExpression<String> compiled() {
+        final CompiledExpression<String> current = compiled;
+        final int threshold = TemplateCompiler.getThreshold();
+        if (evaluations < threshold && ++evaluations == threshold) {
+            final CompiledExpression<String> specialized = TemplateCompiler.compile(current, context);
+            compiled = specialized;
+            return specialized;
         }
+        return current;
     }
 
 }
@@ -22,11 +22,13 @@ public class UndefinedFunctionException extends DoclerkException {
     private static final long serialVersionUID = 1L;
 
     /**
+     * Creates a stackless exception: undefined names are reported as part of
+     * the rendered output, the stack trace would never be looked at.
      *
      * @param funcName the function name
      */
     public UndefinedFunctionException(String funcName) {
-        super("Undefined function: " + funcName);
+        super("Undefined function: " + funcName, false);
     }
 
 }
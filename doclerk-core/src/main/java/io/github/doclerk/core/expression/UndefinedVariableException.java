@@ -22,11 +22,13 @@ public class UndefinedVariableException extends DoclerkException {
     private static final long serialVersionUID = 1L;
 
     /**
+     * Creates a stackless exception: undefined names are reported as part of
+     * the rendered output, the stack trace would never be looked at.
      *
      * @param varName the variable name
      */
     public UndefinedVariableException(String varName) {
-        super("Undefined variable: " + varName);
+        super("Undefined variable: " + varName, false);
     }
 
 }
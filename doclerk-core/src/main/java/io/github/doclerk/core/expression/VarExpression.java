@@ -21,6 +21,7 @@ import io.github.doclerk.core.model.DocExpression;
 public class VarExpression<T> extends DocExpression<T> {
 
     private final String varName;
+    private volatile Expression<T> resolved;
 
     public VarExpression(String varName, ExpressionContext context) {
         super(context);
@@ -29,7 +30,27 @@ public class VarExpression<T> extends DocExpression<T> {
 
     @Override
     public T evaluate() {
-        return context.<T>getVar(varName).evaluate();
+        final Profiler profiler = Profiler.active();
+        if (profiler == null) {
+            return resolve().evaluate();
+        }
+        final Profiler.Frame profiled = profiler.enter(Profiler.VARIABLE, varName);
+        try {
+            return resolve().evaluate();
+        } finally {
+            profiled.exit();
+        }
+    }
+
+    private Expression<T> resolve() {
+        Expression<T> var = resolved;
+        if (var == null) {
+            var = context.getVar(varName);
+            if (context.isImmutable()) {
+                resolved = var;
+            }
+        }
+        return var;
     }
 
 }
@@ -30,9 +30,11 @@ import java.util.Set;
  */
 public class BlankDocRoot implements DocRoot {
 
+    private static final ExpressionContext EMPTY_CONTEXT = new MapContext(null, Collections.emptyMap(), Collections.emptyMap());
+
     @Override
     public ExpressionContext getExpressionContext() {
-        return new MapContext(null, Collections.emptyMap(), Collections.emptyMap());
+        return EMPTY_CONTEXT;
     }
 
     /**
@@ -24,8 +24,11 @@ import io.github.doclerk.core.model.DocPart;
 import io.github.doclerk.core.model.DocParts;
 import io.github.doclerk.core.model.DocRoot;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
@@ -35,55 +38,26 @@ import java.util.function.BinaryOperator;
 public class CompoundDocRoot implements DocRoot {
 
     private final DocRootMergePolicy mergePolicy;
-    private final ArrayList<DocRoot> roots;
+    private final List<DocRoot> roots;
+    private final ExpressionContext context = new CompoundContext();
 
     public CompoundDocRoot(DocRootMergePolicy mergePolicy, DocRoot firstRoot, DocRoot secondRoot, DocRoot... otherRoots) {
         Objects.requireNonNull(firstRoot, "firstRoot may not be null");
         Objects.requireNonNull(secondRoot, "secondRoot may not be null");
         Objects.requireNonNull(otherRoots, "otherRoots may not be null");
         this.mergePolicy = mergePolicy;
-        this.roots = new ArrayList<>(2 + otherRoots.length);
-        this.roots.add(firstRoot);
-        this.roots.add(secondRoot);
+        final List<DocRoot> allRoots = new ArrayList<>(2 + otherRoots.length);
+        allRoots.add(firstRoot);
+        allRoots.add(secondRoot);
         for (DocRoot otherRoot : otherRoots) {
-            this.roots.add(Objects.requireNonNull(otherRoot, "otherRoots may not contain null reference"));
+            allRoots.add(Objects.requireNonNull(otherRoot, "otherRoots may not contain null reference"));
         }
+        this.roots = Collections.unmodifiableList(allRoots);
     }
 
     @Override
     public ExpressionContext getExpressionContext() {
-        return new ExpressionContext() {
-            @Override
-            public <T> Expression<T> getVar(String key) {
-                // Replace with roots.reversed() when on JDK21+
-                ListIterator<DocRoot> li = roots.listIterator(roots.size());
-                while (li.hasPrevious()) {
-                    DocRoot dr = li.previous();
-                    try {
-                        return dr.getExpressionContext().getVar(key);
-                    } catch (UndefinedVariableException uve) {
-                        //try next
-                    }
-                }
-                throw new UndefinedVariableException(key);
-            }
-
-            @Override
-            public <T> FunctionPrototype<T> getFunction(String name) {
-                // Replace with roots.reversed() when on JDK21+
-                ListIterator<DocRoot> li = roots.listIterator(roots.size());
-                while (li.hasPrevious()) {
-                    DocRoot dr = li.previous();
-                    try {
-                        return dr.getExpressionContext().getFunction(name);
-                    } catch (UndefinedFunctionException uve) {
-                        //try next
-                    }
-                }
-                throw new UndefinedFunctionException(name);
-            }
-
-        };
+        return context;
     }
 
     @Override
@@ -118,6 +92,60 @@ public class CompoundDocRoot implements DocRoot {
         return title;
     }
 
+    /**
+     * Looks names up in the roots, from the last to the first. Immutable as
+     * long as the contexts of all the roots are.
+     */
+    private final class CompoundContext implements ExpressionContext {
+
+        @Override
+        public <T> Expression<T> getVar(String key) {
+            return this.<T>findVar(key).orElseThrow(() -> new UndefinedVariableException(key));
+        }
+
+        @Override
+        public <T> FunctionPrototype<T> getFunction(String name) {
+            return this.<T>findFunction(name).orElseThrow(() -> new UndefinedFunctionException(name));
+        }
+
+        @Override
+        public <T> Optional<Expression<T>> findVar(String key) {
+            // Replace with roots.reversed() when on JDK21+
+            ListIterator<DocRoot> li = roots.listIterator(roots.size());
+            while (li.hasPrevious()) {
+                final Optional<Expression<T>> found = li.previous().getExpressionContext().findVar(key);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public <T> Optional<FunctionPrototype<T>> findFunction(String name) {
+            // Replace with roots.reversed() when on JDK21+
+            ListIterator<DocRoot> li = roots.listIterator(roots.size());
+            while (li.hasPrevious()) {
+                final Optional<FunctionPrototype<T>> found = li.previous().getExpressionContext().findFunction(name);
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public boolean isImmutable() {
+            for (DocRoot root : roots) {
+                if (!root.getExpressionContext().isImmutable()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
     public static class DocRootMergePolicy {
 
         private final BinaryOperator<String> idMerger;
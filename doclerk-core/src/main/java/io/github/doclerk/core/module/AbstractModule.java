@@ -15,6 +15,7 @@
  */
 package io.github.doclerk.core.module;
 
+import io.github.doclerk.core.exception.DoclerkException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -31,10 +32,75 @@ public abstract class AbstractModule<T extends DoclerkModule> implements Doclerk
 
     protected ModuleContext context = defaultContext();
 
+    /**
+     * @param ctx the context to add, overriding the current one
+     * @return the instance made for the run by {@link #newRun()}, with the
+     * context added: this module is left unchanged, and only the resources
+     * passed on by {@link #share(DoclerkModule)} are shared between runs
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public T withContext(ModuleContext ctx) {
-        this.context = new HierarchicalModuleContext(context, ctx);
-        return (T) this;
+        if (ctx == null) {
+            throw new IllegalArgumentException("context may not be null");
+        }
+        final AbstractModule<T> run = newRun();
+        // Flattened rather than chained: lookups do not get slower as contexts are added
+        run.context = ModuleContextSnapshot.of(context, ctx);
+        run.share((T) this);
+        return (T) run;
+    }
+
+    /**
+     * Creates the instance of a run. The default implementation calls the
+     * no-arg constructor of the module class: modules configured through
+     * their constructor, or through setters, should override it.
+     *
+     * @return a new instance of this module
+     * @throws DoclerkException if the module class has no accessible no-arg constructor
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractModule<T> newRun() {
+        try {
+            return getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new DoclerkException("Failed to create a run of module " + getClass().getName() + ": it needs a public no-arg constructor, or to override newRun()", e);
+        }
+    }
+
+    /**
+     * Called on the instance made for a run by {@link #withContext(ModuleContext)}
+     * to take the resources acquired by {@link #open(ModuleContext)}, which must
+     * be safe to share between runs. Any other state belongs to the run. The
+     * default implementation does nothing.
+     *
+     * @param module the module the instance is made from
+     */
+    protected void share(T module) {
+    }
+
+    /**
+     * Adds the context shared by all the runs. Subclasses which acquire
+     * resources should call this implementation first.
+     *
+     * @param ctx the context shared by all the runs
+     */
+    @Override
+    public void open(ModuleContext ctx) {
+        this.context = ModuleContextSnapshot.of(context, ctx);
+    }
+
+    /**
+     * @return the name and version declared by the {@link ModuleInfo} annotation of the module class
+     * @throws DoclerkException if the module class is not annotated
+     */
+    @Override
+    public DoclerkModuleInfo moduleInfo() {
+        final ModuleInfo info = getClass().getAnnotation(ModuleInfo.class);
+        if (info == null) {
+            throw new DoclerkException("Module class " + getClass().getName() + " must be annotated with @ModuleInfo, or override moduleInfo()");
+        }
+        return new SimpleDoclerkModuleInfo(info.name(), info.version());
     }
 
     protected abstract ModuleContext defaultContext();
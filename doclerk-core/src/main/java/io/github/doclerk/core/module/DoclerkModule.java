@@ -15,49 +15,101 @@
  */
 package io.github.doclerk.core.module;
 
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ClassInfo;
-import io.github.classgraph.ScanResult;
+import io.github.doclerk.core.exception.DoclerkException;
 import io.github.doclerk.core.model.DocRoot;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-public interface DoclerkModule {
+public interface DoclerkModule extends AutoCloseable {
 
     static final Logger doclerkModuleLogger = LogManager.getLogger(DoclerkModule.class);
 
+    /**
+     * System property which turns {@link #findAll()} into a full class path scan.
+     */
+    static final String SCAN_CLASSPATH_PROPERTY = "doclerk.modules.scanClasspath";
+
+    /**
+     * Adds a context to the module. Between {@link #open(ModuleContext)} and
+     * {@link #close()}, this is called on the open module before each run:
+     * implementations should return a new instance for the run rather than
+     * change this module, and only share with it state that is safe to share.
+     *
+     * @param <T> the module type
+     * @param ctx the context to add
+     * @return the module with the context added
+     */
     <T extends DoclerkModule> T withContext(ModuleContext ctx);
 
     DoclerkModuleInfo moduleInfo();
 
     DocRoot run(DocRoot docRoot);
-    
+
+    /**
+     * Prepares this module for the runs of an execution plan. Resources which
+     * do not depend on a single run, such as templates or parsers, may be
+     * loaded here and kept until {@link #close()}.
+     * <p>
+     * Called once, before the first run, with the context shared by all the
+     * runs. The default implementation does nothing.
+     *
+     * @param ctx the context shared by all the runs
+     */
+    default void open(ModuleContext ctx) {
+    }
+
+    /**
+     * Releases the resources acquired since {@link #open(ModuleContext)}.
+     * <p>
+     * Called once, after the last run, whether the runs succeeded or not. The
+     * default implementation does nothing.
+     */
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Finds the modules of the class path, from the module indexes written at
+     * build time by {@link ModuleIndexProcessor}, or by scanning the whole
+     * class path if the {@value #SCAN_CLASSPATH_PROPERTY} system property is
+     * {@code true}.
+     *
+     * @return an instance of each module found
+     * @see #findDescriptors(boolean)
+     */
     static Set<DoclerkModule> findAll() {
-        Set<DoclerkModule> modules = new HashSet<>(16);
-        try (ScanResult scanResult
-                = new ClassGraph()
-                        .enableClassInfo()
-                        .scan()) {
-                    for (ClassInfo moduleClassInfo : scanResult.getClassesImplementing(DoclerkModule.class)) {
-                        Class<DoclerkModule> moduleClass = moduleClassInfo.loadClass(DoclerkModule.class);
-                        if ((moduleClass.getModifiers() & Modifier.ABSTRACT) == 0) {
-                            try {
-                                modules.add(moduleClass.getDeclaredConstructor().newInstance());
-                            } catch (InstantiationException
-                                    | IllegalAccessException
-                                    | NoSuchMethodException
-                                    | SecurityException
-                                    | IllegalArgumentException
-                                    | InvocationTargetException ex) {
-                                doclerkModuleLogger.error("Failed to instantiate module class {}", moduleClass.getName(), ex);
-                            }
-                        }
-                    }
-                }
-                return modules;
+        return findAll(Boolean.getBoolean(SCAN_CLASSPATH_PROPERTY));
+    }
+
+    /**
+     * @param scanClasspath {@code true} to scan the whole class path
+     * @return an instance of each module found
+     * @see #findDescriptors(boolean)
+     */
+    static Set<DoclerkModule> findAll(boolean scanClasspath) {
+        final Set<DoclerkModule> modules = new HashSet<>(16);
+        for (ModuleDescriptor descriptor : findDescriptors(scanClasspath)) {
+            try {
+                modules.add(descriptor.newInstance());
+            } catch (DoclerkException e) {
+                doclerkModuleLogger.error("Failed to instantiate module {}", descriptor, e);
+            }
+        }
+        return modules;
+    }
+
+    /**
+     * Finds the modules of the class path without instantiating them.
+     *
+     * @param scanClasspath {@code true} to scan the whole class path, which is
+     * much slower, rather than to read the module indexes: modules built
+     * without {@link ModuleIndexProcessor} are only found by a scan
+     * @return a descriptor of each module found
+     */
+    static List<ModuleDescriptor> findDescriptors(boolean scanClasspath) {
+        return scanClasspath ? ModuleIndex.scan() : ModuleIndex.load();
     }
 }
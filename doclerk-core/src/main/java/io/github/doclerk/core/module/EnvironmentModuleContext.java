@@ -15,13 +15,22 @@
  */
 package io.github.doclerk.core.module;
 
+import java.util.Map;
 import java.util.Optional;
 
 public class EnvironmentModuleContext implements ModuleContext {
 
+    // The environment of the process does not change
+    private final Map<String, String> environment = System.getenv();
+
     @Override
     public Optional<String> getValue(String key) {
-        return Optional.ofNullable(System.getenv(key));
+        return Optional.ofNullable(environment.get(key));
+    }
+
+    @Override
+    public Optional<Map<String, String>> entries() {
+        return Optional.of(environment);
     }
 
 }
@@ -16,6 +16,7 @@
 package io.github.doclerk.core.module;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -37,4 +38,9 @@ public class HashMapModuleContext implements ModuleContext, Serializable {
     public Optional<String> getValue(String key) {
         return Optional.ofNullable(context.get(key));
     }
+
+    @Override
+    public Optional<Map<String, String>> entries() {
+        return Optional.of(Collections.unmodifiableMap(context));
+    }
 }
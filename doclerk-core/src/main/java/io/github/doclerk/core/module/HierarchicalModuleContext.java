@@ -15,6 +15,8 @@
  */
 package io.github.doclerk.core.module;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 public class HierarchicalModuleContext implements ModuleContext {
@@ -39,4 +41,17 @@ public class HierarchicalModuleContext implements ModuleContext {
         return value;
     }
 
+    @Override
+    public Optional<Map<String, String>> entries() {
+        final Optional<Map<String, String>> entries = context.entries();
+        if (parent == null || !entries.isPresent()) {
+            return entries;
+        }
+        return parent.entries().map(parentEntries -> {
+            final Map<String, String> merged = new HashMap<>(parentEntries);
+            ModuleContextSnapshot.merge(merged, entries.get());
+            return merged;
+        });
+    }
+
 }
@@ -15,9 +15,20 @@
  */
 package io.github.doclerk.core.module;
 
+import java.util.Map;
 import java.util.Optional;
 
 public interface ModuleContext {
 
     Optional<String> getValue(String key);
+
+    /**
+     * Lists the entries of this context, so that it can be merged into a
+     * {@link ModuleContextSnapshot}.
+     *
+     * @return the entries, or empty if this context cannot list them
+     */
+    default Optional<Map<String, String>> entries() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An immutable module context merging the entries of several contexts into a single map.
+ */
+public final class ModuleContextSnapshot implements ModuleContext {
+
+    private static final ModuleContextSnapshot EMPTY = new ModuleContextSnapshot(Collections.<String, String>emptyMap());
+
+    private final Map<String, String> entries;
+
+    private ModuleContextSnapshot(Map<String, String> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Merges contexts, each one overriding the values of the ones before it,
+     * as when stacked by {@link AbstractModule#withContext(ModuleContext)}.
+     *
+     * @param contexts the contexts, {@code null} ones are ignored
+     * @return the merged context
+     */
+    public static ModuleContext of(ModuleContext... contexts) {
+        ModuleContext result = null;
+        Map<String, String> pending = null;
+        for (ModuleContext context : contexts) {
+            if (context == null) {
+                continue;
+            }
+            final Optional<Map<String, String>> contextEntries = context.entries();
+            if (contextEntries.isPresent()) {
+                if (pending == null) {
+                    pending = new HashMap<>();
+                }
+                merge(pending, contextEntries.get());
+            } else {
+                if (pending != null) {
+                    result = chain(result, new ModuleContextSnapshot(Collections.unmodifiableMap(pending)));
+                    pending = null;
+                }
+                result = chain(result, context);
+            }
+        }
+        if (pending != null) {
+            result = chain(result, new ModuleContextSnapshot(Collections.unmodifiableMap(pending)));
+        }
+        return result != null ? result : EMPTY;
+    }
+
+    private static ModuleContext chain(ModuleContext parent, ModuleContext context) {
+        return parent == null ? context : new HierarchicalModuleContext(parent, context);
+    }
+
+    /**
+     * Copies entries over others. Keys mapped to {@code null} have no value:
+     * they do not override anything.
+     */
+    static void merge(Map<String, String> into, Map<String, String> entries) {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            if (entry.getValue() != null) {
+                into.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Optional<String> getValue(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    @Override
+    public Optional<Map<String, String>> entries() {
+        return Optional.of(entries);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A module found on the class path: its name, its version, and a factory of instances.
+ */
+public final class ModuleDescriptor implements DoclerkModuleInfo {
+
+    private final String name;
+    private final String version;
+    private final Class<? extends DoclerkModule> moduleClass;
+
+    private ModuleDescriptor(String name, String version, Class<? extends DoclerkModule> moduleClass) {
+        this.name = name;
+        this.version = version;
+        this.moduleClass = moduleClass;
+    }
+
+    /**
+     * @param moduleClass the concrete module class
+     * @return the descriptor of the module
+     * @throws DoclerkException if the class has no {@link ModuleInfo} annotation and cannot be instantiated
+     */
+    public static ModuleDescriptor of(Class<? extends DoclerkModule> moduleClass) {
+        final ModuleInfo info = moduleClass.getAnnotation(ModuleInfo.class);
+        if (info != null) {
+            return new ModuleDescriptor(info.name(), info.version(), moduleClass);
+        }
+        final DoclerkModuleInfo moduleInfo = instantiate(moduleClass).moduleInfo();
+        return new ModuleDescriptor(moduleInfo.moduleName(), moduleInfo.moduleVersion(), moduleClass);
+    }
+
+    /**
+     * @param className the name of the concrete module class
+     * @param classLoader the class loader to load it with
+     * @return the descriptor of the module
+     * @throws DoclerkException if the class cannot be loaded, is not a module, or cannot be described
+     */
+    static ModuleDescriptor of(String className, ClassLoader classLoader) {
+        final Class<?> loaded;
+        try {
+            loaded = Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new DoclerkException("Failed to load module class " + className, e);
+        }
+        if (!DoclerkModule.class.isAssignableFrom(loaded)) {
+            throw new DoclerkException("Not a module class: " + className);
+        }
+        return of(loaded.asSubclass(DoclerkModule.class));
+    }
+
+    /**
+     * @return a new instance of the module
+     * @throws DoclerkException if the module cannot be instantiated
+     */
+    public DoclerkModule newInstance() {
+        return instantiate(moduleClass);
+    }
+
+    private static DoclerkModule instantiate(Class<? extends DoclerkModule> moduleClass) {
+        try {
+            return moduleClass.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException
+                | IllegalAccessException
+                | NoSuchMethodException
+                | SecurityException
+                | IllegalArgumentException
+                | InvocationTargetException ex) {
+            throw new DoclerkException("Failed to instantiate module class " + moduleClass.getName(), ex);
+        }
+    }
+
+    public Class<? extends DoclerkModule> getModuleClass() {
+        return moduleClass;
+    }
+
+    @Override
+    public String moduleName() {
+        return name;
+    }
+
+    @Override
+    public String moduleVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return name + "-" + version;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import io.github.doclerk.core.exception.DoclerkException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Discovery of the {@link DoclerkModule} implementations.
+ *
+ * @see ModuleIndexProcessor
+ */
+final class ModuleIndex {
+
+    private static final Logger logger = LogManager.getLogger(ModuleIndex.class);
+
+    private ModuleIndex() {
+    }
+
+    /**
+     * @return a descriptor of each module listed in the module indexes of the class path
+     */
+    static List<ModuleDescriptor> load() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = DoclerkModule.class.getClassLoader();
+        }
+        // The same index may be on the class path twice, e.g. in a module jar and in a fat jar
+        final Set<String> classNames = new LinkedHashSet<>();
+        try {
+            final Enumeration<URL> indexes = classLoader.getResources(ModuleIndexProcessor.INDEX);
+            while (indexes.hasMoreElements()) {
+                readIndex(indexes.nextElement(), classNames);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to list the module indexes", e);
+        }
+        final List<ModuleDescriptor> descriptors = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            try {
+                descriptors.add(ModuleDescriptor.of(className, classLoader));
+            } catch (DoclerkException e) {
+                logger.error("Failed to describe module class {}", className, e);
+            }
+        }
+        return descriptors;
+    }
+
+    private static void readIndex(URL index, Set<String> classNames) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                final int comment = line.indexOf('#');
+                final String className = (comment < 0 ? line : line.substring(0, comment)).trim();
+                if (!className.isEmpty()) {
+                    classNames.add(className);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read the module index {}", index, e);
+        }
+    }
+
+    /**
+     * Scans the whole class path, as for modules built without the index.
+     *
+     * @return a descriptor of each concrete module class of the class path
+     */
+    static List<ModuleDescriptor> scan() {
+        final List<ModuleDescriptor> descriptors = new ArrayList<>();
+        try (ScanResult scanResult = new ClassGraph().enableClassInfo().scan()) {
+            for (ClassInfo moduleClassInfo : scanResult.getClassesImplementing(DoclerkModule.class)) {
+                final Class<DoclerkModule> moduleClass = moduleClassInfo.loadClass(DoclerkModule.class);
+                if ((moduleClass.getModifiers() & Modifier.ABSTRACT) == 0) {
+                    try {
+                        descriptors.add(ModuleDescriptor.of(moduleClass));
+                    } catch (DoclerkException e) {
+                        logger.error("Failed to describe module class {}", moduleClass.getName(), e);
+                    }
+                }
+            }
+        }
+        return descriptors;
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the index of the {@link DoclerkModule} implementations of a jar, at compile time.
+ */
+@SupportedAnnotationTypes("*")
+public class ModuleIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX = "META-INF/services/" + DoclerkModule.class.getName();
+
+    private final Set<String> modules = new TreeSet<>();
+    // The classes of this compilation, whether modules or not
+    private final Set<String> compiled = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            final TypeMirror moduleMirror = moduleMirror();
+            if (moduleMirror != null) {
+                for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+                    collect(type, moduleMirror);
+                }
+            }
+        }
+        // Other processors may claim the same annotations
+        return false;
+    }
+
+    /**
+     * @return the erased module type, looked up again in each round: javac may
+     * not recognize the types of a previous round
+     */
+    private TypeMirror moduleMirror() {
+        final TypeElement moduleType = processingEnv.getElementUtils().getTypeElement(DoclerkModule.class.getName());
+        return moduleType != null ? processingEnv.getTypeUtils().erasure(moduleType.asType()) : null;
+    }
+
+    private void collect(TypeElement type, TypeMirror moduleMirror) {
+        final String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+        compiled.add(name);
+        if (isModule(type, moduleMirror)) {
+            if (isInstantiable(type)) {
+                modules.add(name);
+            } else {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Module " + type.getQualifiedName() + " is not indexed: it needs to be public, static if nested, and to have a public no-arg constructor", type);
+            }
+        }
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            collect(nested, moduleMirror);
+        }
+    }
+
+    private boolean isModule(TypeElement type, TypeMirror moduleMirror) {
+        return type.getKind() == ElementKind.CLASS
+                && !type.getModifiers().contains(Modifier.ABSTRACT)
+                && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), moduleMirror);
+    }
+
+    private static boolean isInstantiable(TypeElement type) {
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+        final Element enclosing = type.getEnclosingElement();
+        if (enclosing.getKind() != ElementKind.PACKAGE && !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        boolean previous;
+        try {
+            readIndex();
+            previous = true;
+        } catch (IOException e) {
+            previous = false;
+        }
+        if (modules.isEmpty() && !previous) {
+            return;
+        }
+        try {
+            final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (Writer writer = index.openWriter()) {
+                for (String module : modules) {
+                    writer.write(module);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write the module index " + INDEX + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether a module of a previous index is still on the class path
+     */
+    private boolean exists(String module, TypeMirror moduleMirror) {
+        final TypeElement type = moduleMirror != null ? processingEnv.getElementUtils().getTypeElement(module.replace('$', '.')) : null;
+        return type != null && isModule(type, moduleMirror);
+    }
+
+    private void readIndex() throws IOException {
+        final TypeMirror moduleMirror = moduleMirror();
+        final FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+        try (Reader reader = index.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                final int comment = line.indexOf('#');
+                final String module = (comment < 0 ? line : line.substring(0, comment)).trim();
+                if (!module.isEmpty() && !compiled.contains(module) && exists(module, moduleMirror)) {
+                    modules.add(module);
+                }
+            }
+        }
+    }
+
+}
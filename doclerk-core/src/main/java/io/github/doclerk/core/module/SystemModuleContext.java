@@ -15,13 +15,36 @@
  */
 package io.github.doclerk.core.module;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
 
+/**
+ * The system properties, as they were when the context was created.
+ */
 public class SystemModuleContext implements ModuleContext {
-    
+
+    private final Map<String, String> properties;
+
+    public SystemModuleContext() {
+        final Properties system = System.getProperties();
+        final Map<String, String> snapshot = new HashMap<>();
+        for (String name : system.stringPropertyNames()) {
+            snapshot.put(name, system.getProperty(name));
+        }
+        this.properties = Collections.unmodifiableMap(snapshot);
+    }
+
     @Override
     public Optional<String> getValue(String key) {
-        return Optional.ofNullable(System.getProperty(key));
+        return Optional.ofNullable(properties.get(key));
     }
-    
+
+    @Override
+    public Optional<Map<String, String>> entries() {
+        return Optional.of(properties);
+    }
+
 }
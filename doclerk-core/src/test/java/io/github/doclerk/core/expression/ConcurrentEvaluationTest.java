@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.doclerk.core.model.DocRoot;
+import io.github.doclerk.core.model.std.BlankDocRoot;
+import io.github.doclerk.core.model.std.CompoundDocRoot;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Evaluates one shared document from many threads at once.
+ */
+public class ConcurrentEvaluationTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+    private static final int TEMPLATES = 500;
+
+    private MapContext rootContext;
+
+    private ExpressionContext document() {
+        final MapContext propertyContext = new MapContext(null, properties(), null);
+        final Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("title", new TemplateStringExpression("&user @ &appUrl", propertyContext));
+        final Map<String, FunctionPrototype<?>> macros = new HashMap<>();
+        macros.put("display", new TemplateFunction("display", Collections.singletonList("page"), "La page \"&page\" est affichée", () -> rootContext).pure());
+        macros.put("menu", new TemplateFunction("menu", Arrays.asList("section", "item"), "Menu > &section > $upper(&item)", () -> rootContext));
+        macros.put("session", new TemplateFunction("session", Arrays.asList("user", "section", "item"), "&user: $menu(&section, &item), puis $display(&item)", () -> rootContext));
+        rootContext = new MapContext(propertyContext, vars, macros);
+        return new CompoundDocRoot(new CompoundDocRoot.DocRootMergePolicy((a, b) -> b, (a, b) -> b, (a, b) -> b),
+                root(new MapContext(null, Collections.singletonMap("user", new StringExpression("hidden")), null)),
+                root(rootContext)).getExpressionContext();
+    }
+
+    private static Map<String, Expression<?>> properties() {
+        final Map<String, Expression<?>> properties = new HashMap<>();
+        properties.put("appUrl", new StringExpression("http://url.to/app/"));
+        properties.put("user", new StringExpression("admin"));
+        return properties;
+    }
+
+    private static DocRoot root(ExpressionContext context) {
+        return new BlankDocRoot() {
+            @Override
+            public ExpressionContext getExpressionContext() {
+                return context;
+            }
+        };
+    }
+
+    private static String source(int i) {
+        return "Step " + i + ": $session(&user, \"S" + (i % 7) + "\", \"i" + (i % 13) + "\") &title $upper(\"x" + (i % 5) + "\") &undefined";
+    }
+
+    @Test
+    public void testDeterministicResults() throws Exception {
+        final ExpressionContext context = document();
+        assertTrue(context.isImmutable());
+        final List<TemplateStringExpression> templates = new ArrayList<>(TEMPLATES);
+        final List<String> expected = new ArrayList<>(TEMPLATES);
+        for (int i = 0; i < TEMPLATES; i++) {
+            templates.add(new TemplateStringExpression(source(i), context));
+            expected.add(templates.get(i).evaluate());
+        }
+        assertTrue(expected.get(8).startsWith("Step 8: admin: Menu > S1 > I8, puis La page \"i8\" est affichée admin @ http://url.to/app/ X3 "));
+
+        // Small enough for templates to be evicted and parsed again concurrently
+        final TemplateCache cache = new TemplateCache(64);
+        final Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        final int offset = random.nextInt(TEMPLATES);
+                        for (int n = 0; n < TEMPLATES; n++) {
+                            final int i = (offset + n) % TEMPLATES;
+                            final String actual = evaluate(random.nextBoolean()
+                                    ? templates.get(i)
+                                    : new TemplateStringExpression(source(i), context, cache), random.nextBoolean());
+                            if (!expected.get(i).equals(actual)) {
+                                mismatches.add(i + ": " + actual);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(Collections.emptyList(), new ArrayList<>(mismatches));
+    }
+
+    private static String evaluate(TemplateStringExpression template, boolean streamed) throws IOException {
+        if (!streamed) {
+            return template.evaluate();
+        }
+        final StringBuilder sb = new StringBuilder();
+        template.evaluateTo(sb);
+        return sb.toString();
+    }
+
+}
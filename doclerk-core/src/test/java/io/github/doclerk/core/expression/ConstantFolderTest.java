@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ConstantFolderTest {
+
+    private final Map<String, Expression<?>> vars = new HashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final MapContext context;
+    private final ConstantFolder folder;
+
+    public ConstantFolderTest() {
+        vars.put("app", new StringExpression("MyApp"));
+        vars.put("user", new StringExpression("admin"));
+        Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("display", args -> {
+            calls.incrementAndGet();
+            return "<" + args.get(0).evaluate() + ">";
+        });
+        funcs.put("fail", args -> {
+            throw new IllegalStateException("failed");
+        });
+        context = new MapContext(null, vars, funcs);
+        folder = new ConstantFolder(context, "app"::equals, name -> Arrays.asList("display", "fail").contains(name));
+    }
+
+    @Test
+    public void testFoldConstantTemplate() {
+        final CompiledExpression<String> folded = folder.fold(ExpressionLexer.template("$display(&app) on &app"));
+        assertTrue(folded instanceof StringExpression);
+        assertEquals("<MyApp> on MyApp", folded.evaluate(context, FunctionPrototype.NO_ARGS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testKeepLiveParts() {
+        final Expression<String> template = folder.template("$display(&app) as &user, $display(&user)");
+        assertEquals(1, calls.get());
+        assertEquals("<MyApp> as admin, <admin>", template.evaluate());
+        assertEquals("<MyApp> as admin, <admin>", template.evaluate());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testFailuresAreNotFolded() {
+        assertEquals("x failed", folder.template("x $fail(&app)").evaluate());
+        final CompiledExpression<String> folded = folder.fold(ExpressionLexer.expression("$display($fail())", String.class));
+        assertThrows(IllegalStateException.class, () -> folded.evaluate(context, FunctionPrototype.NO_ARGS));
+    }
+
+}
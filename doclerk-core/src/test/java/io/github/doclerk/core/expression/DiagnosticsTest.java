@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class DiagnosticsTest {
+
+    private final MapContext context = new MapContext(null,
+            Collections.singletonMap("name", new StringExpression("World")),
+            Collections.emptyMap());
+
+    private String eval(String template) {
+        return new TemplateStringExpression(template, context).evaluate();
+    }
+
+    @Test
+    public void testErrorsAreInlinedByDefault() {
+        assertEquals("Hello Undefined variable: missing!", eval("Hello &missing!"));
+    }
+
+    @Test
+    public void testErrorsAreCollected() {
+        final Diagnostics diagnostics = new Diagnostics();
+        final String result = diagnostics.collect(() -> eval("Hello &missing, $unknown(&name) &name!"));
+        assertEquals("Hello ,  World!", result);
+        final List<EvaluationError> errors = diagnostics.getErrors();
+        assertEquals(2, errors.size());
+        assertEquals(6, errors.get(0).getPosition());
+        assertEquals("Undefined variable: missing", errors.get(0).getReason());
+        assertEquals(16, errors.get(1).getPosition());
+        assertEquals("Undefined function: unknown", errors.get(1).getReason());
+        assertEquals("Hello &missing, $unknown(&name) &name!", errors.get(1).getSource());
+    }
+
+    @Test
+    public void testCollectorIsRestored() {
+        final Diagnostics outer = new Diagnostics();
+        final Diagnostics inner = new Diagnostics();
+        outer.collect(() -> {
+            inner.collect(() -> eval("&a."));
+            assertSame(outer, Diagnostics.current());
+            eval("&b.");
+        });
+        assertNull(Diagnostics.current());
+        assertEquals("Undefined variable: a", inner.getErrors().get(0).getReason());
+        assertEquals("Undefined variable: b", outer.getErrors().get(0).getReason());
+        assertEquals(1, outer.getErrors().size());
+    }
+
+    @Test
+    public void testErrorsAreNotFoldedNorMemoized() {
+        final Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("broken", new TemplateFunction("broken", Collections.emptyList(), "[&missing]", () -> context).pure());
+        final MapContext macroContext = new MapContext(context, null, funcs);
+        final ConstantFolder folder = new ConstantFolder(macroContext, name -> false, "broken"::equals);
+        final Diagnostics diagnostics = new Diagnostics();
+        diagnostics.collect(() -> {
+            final Expression<String> template = folder.template("$broken()");
+            assertEquals("[]", template.evaluate());
+            assertEquals("[]", template.evaluate());
+            assertEquals("[]", new TemplateStringExpression("$broken()", macroContext).evaluate());
+        });
+        assertEquals(3, diagnostics.getErrors().size());
+    }
+
+    @Test
+    public void testUndefinedExceptionsAreStackless() {
+        assertEquals(0, new UndefinedVariableException("x").getStackTrace().length);
+        assertEquals(0, new UndefinedFunctionException("f").getStackTrace().length);
+        assertTrue(new Diagnostics().isEmpty());
+        assertFalse(eval("&missing.").isEmpty());
+    }
+
+}
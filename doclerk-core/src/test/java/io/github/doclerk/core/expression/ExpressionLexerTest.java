@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionLexerTest {
+
+    private final MapContext context;
+
+    public ExpressionLexerTest() {
+        Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("user", new StringExpression("admin"));
+        Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("join", args -> {
+            StringBuilder sb = new StringBuilder();
+            args.forEach(arg -> sb.append('<').append(arg.evaluate()).append('>'));
+            return sb.toString();
+        });
+        funcs.put("menu-item", args -> "item " + args.get(0).evaluate());
+        context = new MapContext(null, vars, funcs);
+    }
+
+    private String eval(String template) {
+        return ExpressionLexer.template(template).evaluate(context, FunctionPrototype.NO_ARGS);
+    }
+
+    @Test
+    public void testPlainTextFastPath() {
+        final String text = "no variable, no function (at all)";
+        assertTrue(ExpressionLexer.template(text) instanceof StringExpression);
+        assertSame(text, eval(text));
+    }
+
+    @Test
+    public void testTemplate() {
+        assertEquals("(admin)", eval("(&user)"));
+        assertEquals("admin's menu: item admin", eval("&user's menu: $menu-item(&user)"));
+        assertEquals("<a, b><admin><<x>>", eval("$join(\"a, b\", &user, $join(\"x\"))"));
+        assertEquals("<(a)><\"quoted\">", eval("$join( \"(a)\" , \"\\\"quoted\\\"\" , )"));
+    }
+
+    @Test
+    public void testLiteralDollarAndAmpersand() {
+        assertEquals("Tom & Jerry cost $5 (each)", eval("Tom & Jerry cost $5 (each)"));
+        assertEquals("$join(\"a\", admin", eval("$join(\"a\", &user"));
+    }
+
+    @Test
+    public void testExpression() {
+        assertEquals("admin", ExpressionLexer.expression(" &user ", Object.class).evaluate(context, FunctionPrototype.NO_ARGS));
+        assertEquals("a b", ExpressionLexer.expression("\"a b\"", String.class).evaluate(context, FunctionPrototype.NO_ARGS));
+        assertEquals("  ", ExpressionLexer.expression("  ", String.class).evaluate(context, FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testInvalidSyntax() {
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.template("$join(1)"));
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.template("$join(, \"a\")"));
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.template("$join(\"a\" \"b\")"));
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.expression("\"unclosed", String.class));
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.expression("\"a\"", Integer.class));
+        assertThrows(InvalidSyntaxException.class, () -> ExpressionLexer.expression("&a &b", Object.class));
+    }
+
+}
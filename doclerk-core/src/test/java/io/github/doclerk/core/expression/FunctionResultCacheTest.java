@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class FunctionResultCacheTest {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final FunctionPrototype<String> echo = args -> counter.incrementAndGet() + ":" + args.get(0).evaluate();
+
+    private static Expression<?>[] frame(Object... values) {
+        final Expression<?>[] frame = new Expression<?>[values.length];
+        for (int i = 0; i < values.length; i++) {
+            final Object value = values[i];
+            frame[i] = () -> {
+                if (value instanceof RuntimeException) {
+                    throw (RuntimeException) value;
+                }
+                return value;
+            };
+        }
+        return frame;
+    }
+
+    @Test
+    public void testCachedByArgumentValues() {
+        FunctionResultCache cache = new FunctionResultCache(16);
+        assertEquals("1:a", cache.call(echo, frame("a")));
+        assertEquals("1:a", cache.call(echo, frame("a")));
+        assertEquals("2:b", cache.call(echo, frame("b")));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testFailingArgumentBypassesCache() {
+        FunctionResultCache cache = new FunctionResultCache(16);
+        assertThrows(IllegalStateException.class, () -> cache.call(echo, frame(new IllegalStateException())));
+        final FunctionPrototype<String> recover = args -> {
+            try {
+                return String.valueOf(args.get(0).evaluate());
+            } catch (IllegalStateException e) {
+                return "recovered";
+            }
+        };
+        assertEquals("recovered", cache.call(recover, frame(new IllegalStateException())));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testUnusedArgumentNotEvaluated() {
+        FunctionResultCache cache = new FunctionResultCache(16);
+        final FunctionPrototype<String> ignore = args -> "ignored";
+        assertEquals("ignored", cache.call(ignore, frame(new IllegalStateException())));
+        assertEquals("ignored", cache.call(ignore, frame(new IllegalStateException())));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testPureMacroIgnoringCounter() {
+        final Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("ignore", new TemplateFunction("ignore", Arrays.asList("x"), "ignored", () -> null).pure());
+        final MapContext context = new MapContext(null, null, funcs);
+        assertEquals("ignored", new TemplateStringExpression("$ignore($counter(\"FunctionResultCacheTest\"))", context).evaluate());
+        assertEquals("ignored", new TemplateStringExpression("$ignore($counter(\"FunctionResultCacheTest\"))", context).evaluate());
+        assertEquals("1", new TemplateStringExpression("$counter(\"FunctionResultCacheTest\")", context).evaluate());
+    }
+
+    @Test
+    public void testSameArgumentsEvaluated() {
+        FunctionResultCache cache = new FunctionResultCache(16);
+        final FunctionPrototype<String> choose = args -> "a".equals(args.get(0).evaluate())
+                ? "a" + args.get(1).evaluate()
+                : "b" + args.get(2).evaluate();
+        assertEquals("a1", cache.call(choose, frame("a", "1", new IllegalStateException())));
+        assertEquals("b3", cache.call(choose, frame("b", new IllegalStateException(), "3")));
+        assertEquals("a1", cache.call(choose, frame("a", "1", new IllegalStateException())));
+        assertEquals("a2", cache.call(choose, frame("a", "2", new IllegalStateException())));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testEviction() {
+        FunctionResultCache cache = new FunctionResultCache(2);
+        cache.call(echo, frame("a"));
+        cache.call(echo, frame("b"));
+        cache.call(echo, frame("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        FunctionResultCache cache = new FunctionResultCache(2);
+        assertEquals("1:a", cache.call(echo, frame("a")));
+        assertEquals("2:b", cache.call(echo, frame("b")));
+        assertEquals("1:a", cache.call(echo, frame("a")));
+        assertEquals("3:c", cache.call(echo, frame("c")));
+        assertEquals("1:a", cache.call(echo, frame("a")));
+        assertEquals("4:b", cache.call(echo, frame("b")));
+    }
+
+    @Test
+    public void testFunctionsAreNotRetained() throws InterruptedException {
+        FunctionResultCache cache = new FunctionResultCache(1);
+        final List<WeakReference<FunctionPrototype<String>>> functions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final String result = "f" + i;
+            final FunctionPrototype<String> function = args -> result;
+            assertEquals(result, cache.call(function, frame()));
+            functions.add(new WeakReference<>(function));
+        }
+        assertEquals(1, cache.size());
+        for (int i = 0; i < 50 && functions.stream().anyMatch(function -> function.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(functions.stream().allMatch(function -> function.get() == null));
+    }
+
+    @Test
+    public void testConstantBody() {
+        final TemplateFunction greet = new TemplateFunction("greet", Arrays.asList("who"), "Hello &who from &site", () -> null);
+        assertTrue(greet.hasConstantBody("site"::equals, name -> false));
+        assertFalse(greet.hasConstantBody(name -> false, name -> false));
+        final TemplateFunction nested = new TemplateFunction("nested", Collections.emptyList(), "$greet(\"me\")", () -> null);
+        assertTrue(nested.hasConstantBody(name -> false, "greet"::equals));
+        assertFalse(nested.hasConstantBody(name -> false, name -> false));
+        assertFalse(greet.isPure());
+        assertTrue(greet.pure().isPure());
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class MapContextTest {
+
+    private static MapContext context(ExpressionContext parent, String var, String value) {
+        return new MapContext(parent, Collections.singletonMap(var, new StringExpression(value)), null);
+    }
+
+    @Test
+    public void testImmutable() {
+        final MapContext root = context(null, "v", "root");
+        assertTrue(root.isImmutable());
+        assertTrue(context(root, "w", "child").isImmutable());
+        final ExpressionContext dynamic = new ExpressionContext() {
+            @Override
+            public <T> Expression<T> getVar(String key) {
+                return root.getVar(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                return root.getFunction(name);
+            }
+        };
+        assertFalse(context(dynamic, "w", "child").isImmutable());
+    }
+
+    @Test
+    public void testSharedExpressionFollowsContext() {
+        final CompiledExpression<String> compiled = ExpressionParser.compileExpression("&v", String.class);
+        final MapContext root = context(null, "v", "root");
+        final MapContext child = context(root, "v", "child");
+        final MapContext sibling = context(root, "w", "sibling");
+        assertEquals("root", compiled.evaluate(root, FunctionPrototype.NO_ARGS));
+        assertEquals("child", compiled.evaluate(child, FunctionPrototype.NO_ARGS));
+        assertEquals("root", compiled.evaluate(sibling, FunctionPrototype.NO_ARGS));
+        assertEquals("child", compiled.evaluate(child, FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testMutableContextResolvedOnEachEvaluation() {
+        final Map<String, Expression<?>> vars = new HashMap<>();
+        final ExpressionContext mutable = new ExpressionContext() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> Expression<T> getVar(String key) {
+                return (Expression<T>) vars.get(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                throw new UndefinedFunctionException(name);
+            }
+        };
+        final Expression<String> bound = ExpressionParser.compileExpression("&v", String.class).bind(mutable);
+        vars.put("v", new StringExpression("first"));
+        assertEquals("first", bound.evaluate());
+        vars.put("v", new StringExpression("second"));
+        assertEquals("second", bound.evaluate());
+    }
+
+}
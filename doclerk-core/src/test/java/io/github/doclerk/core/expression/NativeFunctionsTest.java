@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class NativeFunctionsTest {
+
+    private final MapContext context;
+
+    public NativeFunctionsTest() {
+        Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("name", new StringExpression("World"));
+        vars.put("date", new StringExpression("2026-03-01"));
+        Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("lower", args -> "macro");
+        context = new MapContext(null, vars, funcs);
+    }
+
+    private String eval(String template) {
+        return new TemplateStringExpression(template, context).evaluate();
+    }
+
+    @Test
+    public void testStandardFunctions() {
+        assertEquals("Hello WORLD", eval("Hello $upper(&name)"));
+        assertEquals("a, b, World", eval("$join(\", \", \"a\", \"b\", &name)"));
+        assertEquals("007|ab  ", eval("$padLeft(\"7\", \"3\", \"0\")|$padRight(\"ab\", \"4\")"));
+        assertEquals("01/03/2026", eval("$formatDate(&date, \"dd/MM/yyyy\")"));
+        assertEquals("1 2 1", eval("$counter(\"a\") $counter(\"a\") $counter(\"b\")"));
+    }
+
+    @Test
+    public void testCountersPerRootContext() {
+        final MapContext other = new MapContext(null, null, null);
+        assertEquals("1 2", eval("$counter(\"c\") $counter(\"c\")"));
+        assertEquals("1", new TemplateStringExpression("$counter(\"c\")", other).evaluate());
+        assertEquals("3", new TemplateStringExpression("$counter(\"c\")", new MapContext(context, null, null)).evaluate());
+    }
+
+    @Test
+    public void testBrokenLibraryIsSkipped() {
+        // The test resources list a library class which does not exist
+        assertTrue(NativeFunctions.find("upper").isPresent());
+    }
+
+    @Test
+    public void testPurity() {
+        assertTrue(NativeFunctions.find("upper").get().isPure());
+        assertFalse(NativeFunctions.find("counter").get().isPure());
+        assertFalse(NativeFunctions.find("undefined").isPresent());
+    }
+
+    @Test
+    public void testContextFunctionsComeFirst() {
+        assertEquals("macro", eval("$lower(&name)"));
+        // Only root contexts fall back to native functions
+        final MapContext child = new MapContext(context, null, null);
+        assertEquals("WORLD", child.getFunction("upper").call(Collections.singletonList(new StringExpression("world"))));
+    }
+
+    @Test
+    public void testArgumentCount() {
+        final FunctionPrototype<String> upper = context.getFunction("upper");
+        final DoclerkException e = assertThrows(DoclerkException.class, () -> upper.call(FunctionPrototype.NO_ARGS));
+        assertEquals("Wrong number of arguments for function upper: expected 1, got 0", e.getMessage());
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProfilerTest {
+
+    private MapContext context;
+
+    public ProfilerTest() {
+        Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("name", new StringExpression("World"));
+        Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("slow", args -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return String.valueOf(args.get(0).evaluate());
+        });
+        funcs.put("greet", new TemplateFunction("greet", Collections.singletonList("who"), "Hello $slow(&who)", () -> context));
+        context = new MapContext(null, vars, funcs);
+    }
+
+    @AfterEach
+    public void stop() {
+        Profiler.stop();
+    }
+
+    @Test
+    public void testOffByDefault() {
+        assertNull(Profiler.active());
+        assertEquals("Hello World!", new TemplateStringExpression("$greet(&name)!", context).evaluate());
+    }
+
+    @Test
+    public void testRecord() {
+        final Profiler profiler = Profiler.start();
+        assertSame(profiler, Profiler.active());
+        final TemplateStringExpression template = new TemplateStringExpression("$greet(&name)!", context);
+        assertEquals("Hello World!", template.evaluate());
+        assertEquals("Hello World!", template.evaluate());
+        assertSame(profiler, Profiler.stop());
+
+        final List<Profiler.Entry> entries = profiler.getEntries();
+        assertEquals(3, entries.size());
+        // The time is spent in slow, called by greet
+        final Profiler.Entry slow = entries.get(0);
+        assertEquals("slow", slow.getName());
+        assertEquals(Profiler.FUNCTION, slow.getKind());
+        assertEquals(2, slow.getCalls());
+        assertTrue(slow.getExclusiveNanos() >= 10_000_000L);
+        final Profiler.Entry greet = entries.stream().filter(e -> e.getName().equals("greet")).findFirst().get();
+        assertTrue(greet.getInclusiveNanos() >= slow.getInclusiveNanos());
+        assertTrue(greet.getExclusiveNanos() < slow.getExclusiveNanos());
+        final Profiler.Entry name = entries.stream().filter(e -> e.getKind().equals(Profiler.VARIABLE)).findFirst().get();
+        assertEquals("name", name.getName());
+        assertEquals(2, name.getCalls());
+
+        assertTrue(profiler.report(1).contains("slow"));
+        assertEquals(2, profiler.report(1).split("\n").length);
+    }
+
+    @Test
+    public void testWriteJson(@TempDir Path dir) throws IOException {
+        final Profiler profiler = Profiler.start();
+        new TemplateStringExpression("$greet(\"a \\\"b\\\"\")", context).evaluate();
+        Profiler.stop();
+        final Path file = dir.resolve("profile.json");
+        profiler.writeJson(file);
+        final String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[\n  {\"kind\": \"function\", \"name\": \"slow\", \"calls\": 1, "));
+        assertTrue(json.contains("{\"kind\": \"function\", \"name\": \"greet\", \"calls\": 1, "));
+        assertTrue(json.endsWith("}\n]\n"));
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class RenderedStringPoolTest {
+
+    private final MapContext context = new MapContext(null,
+            Collections.singletonMap("name", new StringExpression("World")),
+            Collections.emptyMap());
+
+    private String render() {
+        return new TemplateStringExpression("Hello &name!", context).evaluate();
+    }
+
+    @AfterEach
+    public void disable() {
+        RenderedStringPool.disable();
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(RenderedStringPool.disable());
+        assertNotSame(render(), render());
+    }
+
+    @Test
+    public void testShareRenderedStrings() {
+        final RenderedStringPool pool = RenderedStringPool.enable(16);
+        final String first = render();
+        assertEquals("Hello World!", first);
+        assertSame(first, render());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testCapacity() {
+        final RenderedStringPool pool = RenderedStringPool.enable(1);
+        assertSame("a", pool.intern("a"));
+        final String b = new String("b");
+        assertSame(b, pool.intern(b));
+        assertNotSame(b, pool.intern(new String("b")));
+        assertEquals(1, pool.size());
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class TemplateCacheTest {
+
+    @Test
+    public void testParseOnce() {
+        TemplateCache cache = new TemplateCache(16);
+        final CompiledExpression<String> first = cache.get("$display(&page)");
+        final CompiledExpression<String> second = cache.get("$display(&page)");
+        assertSame(first, second);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testBindToCallerContext() {
+        TemplateCache cache = new TemplateCache(16);
+        MapContext a = new MapContext(null, Collections.singletonMap("v", new StringExpression("a")), null);
+        MapContext b = new MapContext(null, Collections.singletonMap("v", new StringExpression("b")), null);
+        assertEquals("<a>", new TemplateStringExpression("<&v>", a, cache).evaluate());
+        assertEquals("<b>", new TemplateStringExpression("<&v>", b, cache).evaluate());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testEviction() {
+        TemplateCache cache = new TemplateCache(2);
+        final CompiledExpression<String> first = cache.get("one &x");
+        cache.get("two &x");
+        cache.get("three &x");
+        assertEquals(2, cache.size());
+        assertNotSame(first, cache.get("one &x"));
+        assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testShareNodes() {
+        TemplateCache cache = new TemplateCache(16);
+        cache.get("$display(&page)");
+        assertEquals(2, cache.getNodeCount());
+        // Only the literals are new
+        cache.get("Then $display(&page) again");
+        assertEquals(4, cache.getNodeCount());
+        // Only the outer call is new
+        cache.get("$check(&page, $display(&page))");
+        assertEquals(5, cache.getNodeCount());
+        cache.clear();
+        assertEquals(0, cache.getNodeCount());
+    }
+
+    @Test
+    public void testNodesAreEvictedWithTemplates() throws InterruptedException {
+        TemplateCache cache = new TemplateCache(1);
+        cache.get("$display(&page)");
+        cache.get("$check(&item)");
+        for (int i = 0; i < 50 && cache.getNodeCount() > 2; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(2, cache.getNodeCount());
+    }
+
+    @Test
+    public void testNodesDoNotRetainContexts() throws InterruptedException {
+        final List<WeakReference<ExpressionContext>> contexts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // The function refers back to its context, as macros do
+            final AtomicReference<ExpressionContext> self = new AtomicReference<>();
+            final FunctionPrototype<String> function = args -> self.get().<String>getVar("x").evaluate();
+            final MapContext context = new MapContext(null,
+                    Collections.singletonMap("x", new StringExpression("x" + i)),
+                    Collections.singletonMap("f", function));
+            self.set(context);
+            assertEquals("x" + i + " x" + i, new TemplateStringExpression("&x $f()", context).evaluate());
+            contexts.add(new WeakReference<>(context));
+        }
+        for (int i = 0; i < 50 && contexts.stream().anyMatch(context -> context.get() != null); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertTrue(contexts.stream().allMatch(context -> context.get() == null));
+    }
+
+}
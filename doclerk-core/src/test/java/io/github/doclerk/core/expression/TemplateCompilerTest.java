@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TemplateCompilerTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final ExpressionContext context;
+
+    public TemplateCompilerTest() {
+        final Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("app", new StringExpression("MyApp"));
+        vars.put("user", new StringExpression("admin"));
+        final Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        final ExpressionContext[] root = new ExpressionContext[1];
+        funcs.put("login", new TemplateFunction("login", Arrays.asList("who"), "$upper(&who) on &app", () -> root[0]));
+        final MapContext map = new MapContext(null, vars, funcs);
+        // Counts the lookups which are not served by an inline cache
+        context = new ExpressionContext() {
+            @Override
+            public <T> Expression<T> getVar(String key) {
+                lookups.incrementAndGet();
+                return map.getVar(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                lookups.incrementAndGet();
+                return map.getFunction(name);
+            }
+
+            @Override
+            public boolean isImmutable() {
+                return true;
+            }
+        };
+        root[0] = context;
+    }
+
+    @Test
+    public void testSpecializedEvaluatesLikeGeneric() {
+        final CompiledExpression<String> generic = ExpressionLexer.template("Hello &user: $login(&user), $login(\"guest\")");
+        final CompiledExpression<String> specialized = TemplateCompiler.compile(generic, context);
+        assertNotSame(generic, specialized);
+        assertEquals(generic.evaluate(context, FunctionPrototype.NO_ARGS), specialized.evaluate(context, FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testNamesResolvedOnce() {
+        final CompiledExpression<String> specialized = TemplateCompiler.compile(ExpressionLexer.template("Hello &user: $login(&user)"), context);
+        final int resolved = lookups.get();
+        // Any lookup in the template itself would fail
+        final ExpressionContext failing = new ExpressionContext() {
+            @Override
+            public <T> Expression<T> getVar(String key) {
+                throw new IllegalStateException(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                throw new IllegalStateException(name);
+            }
+        };
+        assertEquals("Hello admin: ADMIN on MyApp", specialized.evaluate(failing, FunctionPrototype.NO_ARGS));
+        assertEquals("Hello admin: ADMIN on MyApp", specialized.evaluate(failing, FunctionPrototype.NO_ARGS));
+        // The macro body, evaluated in its own context, resolves its names once
+        assertTrue(lookups.get() - resolved <= 2);
+    }
+
+    @Test
+    public void testUnresolvedNamesStillFail() {
+        final CompiledExpression<String> generic = ExpressionLexer.template("a &missing b $missing() c");
+        final CompiledExpression<String> specialized = TemplateCompiler.compile(generic, context);
+        assertEquals(generic.evaluate(context, FunctionPrototype.NO_ARGS), specialized.evaluate(context, FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testMutableContextIsNotSpecialized() {
+        final MapContext map = new MapContext(null, Collections.singletonMap("app", new StringExpression("MyApp")), Collections.<String, FunctionPrototype<?>>emptyMap());
+        final ExpressionContext mutable = new ExpressionContext() {
+            @Override
+            public <T> Expression<T> getVar(String key) {
+                return map.getVar(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                return map.getFunction(name);
+            }
+        };
+        final CompiledExpression<String> generic = ExpressionLexer.template("on &app");
+        assertSame(generic, TemplateCompiler.compile(generic, mutable));
+    }
+
+    @Test
+    public void testHotTemplate() {
+        final Expression<String> template = new TemplateStringExpression("Hello &user: $login(&user)", context, new TemplateCache(1));
+        for (int i = 0; i < TemplateCompiler.getThreshold() + 10; i++) {
+            assertEquals("Hello admin: ADMIN on MyApp", template.evaluate());
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class TemplateFunctionTest {
+
+    private final Map<String, Expression<?>> vars = new HashMap<>();
+    private final Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private MapContext context;
+
+    public TemplateFunctionTest() {
+        vars.put("user", new StringExpression("root"));
+        funcs.put("login", new TemplateFunction("login", Arrays.asList("user"), "Log in as &user", () -> context));
+        funcs.put("menu", new TemplateFunction("menu", Arrays.asList("section", "item"), "$login(&item) in &section", () -> context));
+        funcs.put("thrice", new TemplateFunction("thrice", Arrays.asList("x"), "&x&x&x", () -> context));
+        funcs.put("ignore", new TemplateFunction("ignore", Arrays.asList("x"), "ignored", () -> context));
+        funcs.put("count", args -> String.valueOf(counter.incrementAndGet()));
+        context = new MapContext(null, vars, funcs);
+    }
+
+    private String eval(String template) {
+        return new TemplateStringExpression(template, context).evaluate();
+    }
+
+    @Test
+    public void testCall() {
+        assertEquals("Log in as admin", eval("$login(\"admin\")"));
+        assertEquals("Log in as b in a", eval("$menu(\"a\", \"b\")"));
+    }
+
+    @Test
+    public void testOmittedArgumentFallsBackToContext() {
+        assertEquals("Log in as root", eval("$login()"));
+    }
+
+    @Test
+    public void testArgumentEvaluatedOncePerCall() {
+        assertEquals("111", eval("$thrice($count())"));
+        assertEquals("222", eval("$thrice($count())"));
+        assertEquals("Log in as 333 in a", eval("$menu(\"a\", $thrice($count()))"));
+    }
+
+    @Test
+    public void testUnusedArgumentNotEvaluated() {
+        assertEquals("ignored", eval("$ignore($undefined())"));
+        assertEquals("ignored", eval("$ignore($count())"));
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testPureFunctionWithOmittedArgument() {
+        final TemplateFunction login = ((TemplateFunction) context.<String>getFunction("login")).pure();
+        final FunctionResultCache cache = new FunctionResultCache(10);
+        assertEquals("Log in as root", cache.call(login, FunctionPrototype.NO_ARGS));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testTooManyArguments() {
+        final FunctionPrototype<String> login = context.getFunction("login");
+        assertThrows(DoclerkException.class, () -> login.call(Arrays.asList(new StringExpression("a"), new StringExpression("b"))));
+    }
+
+    @Test
+    public void testInvalidDefinition() {
+        assertThrows(InvalidSyntaxException.class, () -> new TemplateFunction("f", Arrays.asList("a", "a"), "&a", () -> context));
+        assertThrows(InvalidSyntaxException.class, () -> new TemplateFunction("f", Arrays.asList("a-b"), "&a", () -> context));
+        assertThrows(InvalidSyntaxException.class, () -> new TemplateFunction("f", Collections.emptyList(), "$f(1)", () -> context));
+    }
+
+}
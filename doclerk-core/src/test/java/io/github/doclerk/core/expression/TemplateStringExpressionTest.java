@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.expression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class TemplateStringExpressionTest {
+
+    private MapContext context;
+
+    public TemplateStringExpressionTest() {
+        Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put("name", new StringExpression("World"));
+        Map<String, FunctionPrototype<?>> funcs = new HashMap<>();
+        funcs.put("upper", args -> String.valueOf(args.get(0).evaluate()).toUpperCase());
+        funcs.put("greet", new TemplateFunction("greet", Collections.singletonList("who"), "Hello &who, $upper(&who)!", () -> context));
+        funcs.put("wrap", args -> "[" + args.get(0).evaluate() + "|" + args.get(1).evaluate() + "]");
+        context = new MapContext(null, vars, funcs);
+    }
+
+    private String eval(String template) {
+        return new TemplateStringExpression(template, context).evaluate();
+    }
+
+    @Test
+    public void testLiteral() {
+        assertEquals("plain text", eval("plain text"));
+        assertEquals("", eval(""));
+        assertNull(eval(null));
+    }
+
+    @Test
+    public void testVar() {
+        assertEquals("World", eval("&name"));
+        assertEquals("Hello World!", eval("Hello &name!"));
+    }
+
+    @Test
+    public void testFunction() {
+        assertEquals("WORLD", eval("$upper(&name)"));
+        assertEquals("x [a b|WORLD] y", eval("x $wrap(\"a b\", $upper(&name)) y"));
+    }
+
+    @Test
+    public void testUndefinedVarIsInlined() {
+        final String result = eval("a &missing b");
+        assertTrue(result.startsWith("a "));
+        assertTrue(result.contains("missing"));
+        assertTrue(result.endsWith(" b"));
+    }
+
+    @Test
+    public void testEvaluateTo() throws IOException {
+        final StringBuilder sb = new StringBuilder("> ");
+        new TemplateStringExpression("$greet(&name) &missing.", context).evaluateTo(sb);
+        assertTrue(sb.toString().startsWith("> Hello World, WORLD! "));
+        assertTrue(sb.toString().contains("missing"));
+        assertTrue(sb.toString().endsWith("."));
+
+        final StringWriter writer = new StringWriter();
+        new TemplateStringExpression("[$greet($upper(&name))]", context).evaluateTo(writer);
+        assertEquals("[Hello WORLD, WORLD!]", writer.toString());
+    }
+
+    @Test
+    public void testFailedPartIsRolledBack() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        new TemplateStringExpression("a $greet(&name, \"extra\") b", context).evaluateTo(sb);
+        assertEquals("a Too many arguments for function greet: expected 1, got 2 b", sb.toString());
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.model.std;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.ExpressionContext;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.StringExpression;
+import io.github.doclerk.core.expression.UndefinedFunctionException;
+import io.github.doclerk.core.expression.UndefinedVariableException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class CompoundDocRootTest {
+
+    private static BlankDocRoot root(String var, String value) {
+        final Map<String, Expression<?>> vars = new HashMap<>();
+        vars.put(var, new StringExpression(value));
+        final Map<String, FunctionPrototype<?>> funcs = Collections.singletonMap(var, args -> value);
+        final MapContext context = new MapContext(null, vars, funcs);
+        return new BlankDocRoot() {
+            @Override
+            public ExpressionContext getExpressionContext() {
+                return context;
+            }
+        };
+    }
+
+    private final ExpressionContext context = new CompoundDocRoot(
+            new CompoundDocRoot.DocRootMergePolicy((a, b) -> b, (a, b) -> b, (a, b) -> b),
+            root("a", "first"), root("b", "second"), root("a", "third")).getExpressionContext();
+
+    @Test
+    public void testLastRootWins() {
+        assertEquals("third", context.getVar("a").evaluate());
+        assertEquals("third", context.getFunction("a").call(FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testFallBackToPreviousRoots() {
+        assertEquals("second", context.getVar("b").evaluate());
+        assertEquals("second", context.getFunction("b").call(FunctionPrototype.NO_ARGS));
+    }
+
+    @Test
+    public void testUndefined() {
+        assertFalse(context.findVar("c").isPresent());
+        assertFalse(context.findFunction("c").isPresent());
+        assertThrows(UndefinedVariableException.class, () -> context.getVar("c"));
+        assertThrows(UndefinedFunctionException.class, () -> context.getFunction("c"));
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.model.DocRoot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class AbstractModuleTest {
+
+    @Test
+    public void testWithContextLeavesModuleUnchanged() {
+        final ModuleDescriptorTest.AnnotatedModule module = new ModuleDescriptorTest.AnnotatedModule();
+        module.open(new HashMapModuleContext(Collections.singletonMap("shared", "yes")));
+
+        final ModuleDescriptorTest.AnnotatedModule first = module.withContext(new HashMapModuleContext(Collections.singletonMap("run", "1")));
+        final ModuleDescriptorTest.AnnotatedModule second = module.withContext(new HashMapModuleContext(Collections.emptyMap()));
+        assertNotSame(module, first);
+        assertEquals(Optional.of("yes"), first.context.getValue("shared"));
+        assertEquals(Optional.of("1"), first.context.getValue("run"));
+        // The context of a run does not leak into the next one
+        assertEquals(Optional.of("yes"), second.context.getValue("shared"));
+        assertFalse(second.context.getValue("run").isPresent());
+        assertFalse(module.context.getValue("run").isPresent());
+        module.close();
+    }
+
+    @Test
+    public void testRunsOnlyShareOpenResources() {
+        final StatefulModule module = new StatefulModule();
+        module.open(new HashMapModuleContext(Collections.emptyMap()));
+        final StatefulModule first = module.withContext(new HashMapModuleContext(Collections.emptyMap()));
+        final StatefulModule second = module.withContext(new HashMapModuleContext(Collections.emptyMap()));
+        first.run(null);
+        assertSame(module.resource, first.resource);
+        assertSame(module.resource, second.resource);
+        assertEquals(Collections.singletonList("run"), first.runState);
+        assertTrue(second.runState.isEmpty());
+        assertTrue(module.runState.isEmpty());
+    }
+
+    @Test
+    public void testConfiguredModuleRuns() {
+        final ConfiguredModule module = new RunFactoryModule("configured");
+        final ConfiguredModule run = module.withContext(new HashMapModuleContext(Collections.emptyMap()));
+        assertNotSame(module, run);
+        assertEquals("configured", run.setting);
+    }
+
+    @Test
+    public void testModuleWithoutNoArgConstructor() {
+        final ConfiguredModule module = new ConfiguredModule("configured");
+        final DoclerkException e = assertThrows(DoclerkException.class, () -> module.withContext(new HashMapModuleContext(Collections.emptyMap())));
+        assertTrue(e.getMessage().endsWith("it needs a public no-arg constructor, or to override newRun()"));
+    }
+
+    @ModuleInfo(name = "Configured", version = "test")
+    public static class ConfiguredModule extends AbstractModule<ConfiguredModule> {
+
+        final String setting;
+
+        public ConfiguredModule(String setting) {
+            this.setting = setting;
+        }
+
+        @Override
+        public DocRoot run(DocRoot docRoot) {
+            return docRoot;
+        }
+
+        @Override
+        protected ModuleContext defaultContext() {
+            return new HashMapModuleContext(Collections.emptyMap());
+        }
+
+    }
+
+    @ModuleInfo(name = "RunFactory", version = "test")
+    public static class RunFactoryModule extends ConfiguredModule {
+
+        public RunFactoryModule(String setting) {
+            super(setting);
+        }
+
+        @Override
+        protected AbstractModule<ConfiguredModule> newRun() {
+            return new RunFactoryModule(setting);
+        }
+
+    }
+
+    @ModuleInfo(name = "Stateful", version = "test")
+    public static class StatefulModule extends AbstractModule<StatefulModule> {
+
+        private Object resource;
+        private final List<String> runState = new ArrayList<>();
+
+        @Override
+        public void open(ModuleContext ctx) {
+            super.open(ctx);
+            resource = new Object();
+        }
+
+        @Override
+        protected void share(StatefulModule module) {
+            resource = module.resource;
+        }
+
+        @Override
+        public DocRoot run(DocRoot docRoot) {
+            runState.add("run");
+            return docRoot;
+        }
+
+        @Override
+        protected ModuleContext defaultContext() {
+            return new HashMapModuleContext(Collections.emptyMap());
+        }
+
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class ModuleContextSnapshotTest {
+
+    private static ModuleContext context(String... keyValues) {
+        final Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put(keyValues[i], keyValues[i + 1]);
+        }
+        return new HashMapModuleContext(map);
+    }
+
+    @Test
+    public void testLaterContextsOverride() {
+        final ModuleContext merged = ModuleContextSnapshot.of(context("a", "1", "b", "1"), context("b", "2", "c", "2"), context("c", "3", "d", null));
+        assertTrue(merged instanceof ModuleContextSnapshot);
+        assertEquals(Optional.of("1"), merged.getValue("a"));
+        assertEquals(Optional.of("2"), merged.getValue("b"));
+        assertEquals(Optional.of("3"), merged.getValue("c"));
+        assertFalse(merged.getValue("d").isPresent());
+        // A key without value does not hide the value of an earlier context
+        assertEquals(Optional.of("1"), ModuleContextSnapshot.of(context("a", "1"), context("a", null)).getValue("a"));
+    }
+
+    @Test
+    public void testUnlistableContextsAreChained() {
+        final ModuleContext opaque = key -> "b".equals(key) ? Optional.of("opaque") : Optional.empty();
+        final ModuleContext merged = ModuleContextSnapshot.of(context("a", "1", "b", "1"), opaque, context("a", "2"));
+        assertEquals(Optional.of("2"), merged.getValue("a"));
+        assertEquals(Optional.of("opaque"), merged.getValue("b"));
+        assertFalse(merged.entries().isPresent());
+    }
+
+    @Test
+    public void testModuleContextStaysFlat() {
+        ModuleDescriptorTest.AnnotatedModule module = new ModuleDescriptorTest.AnnotatedModule();
+        for (int i = 0; i < 100; i++) {
+            module = module.withContext(context("k", "v" + i));
+        }
+        assertTrue(module.context instanceof ModuleContextSnapshot);
+        assertEquals(Optional.of("v99"), module.context.getValue("k"));
+    }
+
+    @Test
+    public void testSystemSnapshot() {
+        final ModuleContext system = ModuleContextSnapshot.of(new EnvironmentModuleContext(), new SystemModuleContext());
+        assertEquals(Optional.of(System.getProperty("java.version")), system.getValue("java.version"));
+        assertEquals(Collections.emptyMap(), ModuleContextSnapshot.of().entries().get());
+    }
+
+}
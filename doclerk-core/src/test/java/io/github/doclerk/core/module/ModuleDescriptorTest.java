@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.doclerk.core.model.DocRoot;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ModuleDescriptorTest {
+
+    static final AtomicInteger instances = new AtomicInteger();
+
+    @ModuleInfo(name = "Annotated", version = "1.0")
+    public static class AnnotatedModule extends AbstractModule<AnnotatedModule> {
+
+        public AnnotatedModule() {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public DocRoot run(DocRoot docRoot) {
+            return docRoot;
+        }
+
+        @Override
+        protected ModuleContext defaultContext() {
+            return new HashMapModuleContext(Collections.emptyMap());
+        }
+
+    }
+
+    public static class LegacyModule extends AnnotatedModule {
+
+        @Override
+        public DoclerkModuleInfo moduleInfo() {
+            return new SimpleDoclerkModuleInfo("Legacy", "0.1");
+        }
+
+    }
+
+    @BeforeEach
+    public void reset() {
+        instances.set(0);
+    }
+
+    @Test
+    public void testDescribeWithoutInstantiating() {
+        final ModuleDescriptor descriptor = ModuleDescriptor.of(AnnotatedModule.class);
+        assertEquals("Annotated", descriptor.moduleName());
+        assertEquals("1.0", descriptor.moduleVersion());
+        assertEquals(0, instances.get());
+    }
+
+    @Test
+    public void testFreshInstances() {
+        final ModuleDescriptor descriptor = ModuleDescriptor.of(AnnotatedModule.class);
+        final DoclerkModule first = descriptor.newInstance();
+        assertNotSame(first, descriptor.newInstance());
+        assertEquals(2, instances.get());
+        assertEquals("Annotated - 1.0", first.moduleInfo().displayName());
+    }
+
+    @Test
+    public void testDescribeLegacyModule() {
+        final ModuleDescriptor descriptor = ModuleDescriptor.of(LegacyModule.class);
+        assertEquals("Legacy", descriptor.moduleName());
+        assertEquals("0.1", descriptor.moduleVersion());
+    }
+
+    @Test
+    public void testFindDescriptors() {
+        final List<String> names = DoclerkModule.findDescriptors(false).stream()
+                .map(ModuleDescriptor::moduleName)
+                .collect(Collectors.toList());
+        assertEquals(2, names.size());
+        assertTrue(names.contains("Annotated"));
+        assertTrue(names.contains("Legacy"));
+        // Only the legacy module is instantiated, to read its name
+        assertEquals(1, instances.get());
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.core.module;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ModuleIndexProcessorTest {
+
+    private static final String MODULE_BODY = "{"
+            + " public <T extends DoclerkModule> T withContext(ModuleContext ctx) { return null; }"
+            + " public DoclerkModuleInfo moduleInfo() { return null; }"
+            + " public io.github.doclerk.core.model.DocRoot run(io.github.doclerk.core.model.DocRoot root) { return root; }"
+            + " }";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testIndexModules() throws IOException {
+        final Path output = compile(
+                "package p; import io.github.doclerk.core.module.*; public class First implements DoclerkModule " + MODULE_BODY,
+                "package p; public class Second extends First { public static class Nested extends First {} }",
+                "package p; import io.github.doclerk.core.module.*; public abstract class Base implements DoclerkModule " + MODULE_BODY,
+                "package p; public class NotAModule {}");
+        assertEquals(Arrays.asList("p.First", "p.Second", "p.Second$Nested"), index(output));
+    }
+
+    @Test
+    public void testSkipModulesWhichCannotBeInstantiated() throws IOException {
+        final Path output = compile(
+                "package p; import io.github.doclerk.core.module.*; public class First implements DoclerkModule " + MODULE_BODY,
+                "package p; class Hidden extends First {}",
+                "package p; public class WithArgs extends First { public WithArgs(String arg) {} }");
+        assertEquals(Arrays.asList("p.First"), index(output));
+    }
+
+    @Test
+    public void testPruneStaleEntries() throws IOException {
+        final Path index = Files.createDirectories(dir.resolve("classes/META-INF/services")).resolve(DoclerkModule.class.getName());
+        Files.write(index, Arrays.asList("# previous build", "p.Gone", "p.First", "p.Demoted", ModuleDescriptorTest.AnnotatedModule.class.getName()));
+        final Path output = compile(
+                "package p; import io.github.doclerk.core.module.*; public class First implements DoclerkModule " + MODULE_BODY,
+                "package p; public class Demoted {}");
+        assertEquals(Arrays.asList(ModuleDescriptorTest.AnnotatedModule.class.getName(), "p.First"), index(output));
+    }
+
+    @Test
+    public void testNoIndexWithoutModules() throws IOException {
+        final Path output = compile("package p; public class NotAModule {}");
+        assertFalse(Files.exists(output.resolve(ModuleIndexProcessor.INDEX)));
+    }
+
+    private Path compile(String... sources) throws IOException {
+        final Path src = Files.createDirectories(dir.resolve("src/p"));
+        final Path output = Files.createDirectories(dir.resolve("classes"));
+        final List<String> args = new ArrayList<>(Arrays.asList(
+                "-proc:only",
+                "-processor", ModuleIndexProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString()));
+        for (String source : sources) {
+            final String name = source.replaceFirst("(?s).*?class (\\w+).*", "$1");
+            final Path file = src.resolve(name + ".java");
+            Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+            args.add(file.toString());
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[args.size()])));
+        return output;
+    }
+
+    private static List<String> index(Path output) throws IOException {
+        final Path index = output.resolve(ModuleIndexProcessor.INDEX);
+        assertTrue(Files.exists(index));
+        return Files.readAllLines(index, StandardCharsets.UTF_8);
+    }
+
+}
@@ -1,2 +1,20 @@
 @ECHO OFF
-java -classpath doclerk-cli\target\doclerk-cli-0.1.0.jar;doclerk-modules\mod-in-testplan\target\mod-in-testplan-0.1.0.jar io.github.doclerk.cli.Doclerk %*
\ No newline at end of file
+REM DOCLERK_CLASSPATH  additional modules, and their dependencies
+REM DOCLERK_CDS        class data sharing archive (JDK 13+): the first run records
+REM                    the classes it loads to this file, later runs map them from
+REM                    it. Delete the archive after rebuilding or adding modules.
+SETLOCAL
+SET CLASSPATH=%~dp0doclerk-cli\target\doclerk-cli-0.1.0-SNAPSHOT.jar;%~dp0modules\mod-in-testplan\target\mod-in-testplan-0.1.0-SNAPSHOT.jar
+IF DEFINED DOCLERK_CLASSPATH SET CLASSPATH=%CLASSPATH%;%DOCLERK_CLASSPATH%
+SET CDS_OPTS=
+IF NOT DEFINED DOCLERK_CDS GOTO run
+IF EXIST "%DOCLERK_CDS%" (
+    SET CDS_OPTS=-XX:+IgnoreUnrecognizedVMOptions "-XX:SharedArchiveFile=%DOCLERK_CDS%"
+    GOTO run
+)
+SET CDS_OPTS=-XX:+IgnoreUnrecognizedVMOptions "-XX:ArchiveClassesAtExit=%DOCLERK_CDS%"
+REM Silences the warnings of the recording, on JVMs which know these log tags (JDK 13+)
+java -Xlog:cds=off -Xlog:cds+dynamic=off -version >NUL 2>&1
+IF NOT ERRORLEVEL 1 SET CDS_OPTS=%CDS_OPTS% -Xlog:cds=off -Xlog:cds+dynamic=off
+:run
+java %CDS_OPTS% -classpath "%CLASSPATH%" io.github.doclerk.cli.Doclerk %*
\ No newline at end of file
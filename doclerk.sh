@@ -0,0 +1,47 @@
+#!/bin/sh
+# Runs the Doclerk CLI.
+#
+# DOCLERK_CLASSPATH  additional modules, and their dependencies
+# DOCLERK_CDS        class data sharing archive (JDK 13+): the first run records
+#                    the classes it loads to this file, later runs map them from
+#                    it instead of loading them from the jars. The archive is
+#                    recorded again when a jar of the classpath is newer than it.
+# JAVA_HOME          the JDK to run, instead of the java found on the PATH
+
+DOCLERK_HOME=$(dirname "$0")
+CLASSPATH="$DOCLERK_HOME/doclerk-cli/target/doclerk-cli-0.1.0-SNAPSHOT.jar:$DOCLERK_HOME/modules/mod-in-testplan/target/mod-in-testplan-0.1.0-SNAPSHOT.jar"
+if [ -n "$DOCLERK_CLASSPATH" ]; then
+    CLASSPATH="$CLASSPATH:$DOCLERK_CLASSPATH"
+fi
+JAVA=java
+if [ -n "$JAVA_HOME" ]; then
+    JAVA="$JAVA_HOME/bin/java"
+fi
+
+# The JVM options are prepended to the arguments, so that paths with spaces stay whole
+set -- -classpath "$CLASSPATH" io.github.doclerk.cli.Doclerk "$@"
+if [ -n "$DOCLERK_CDS" ]; then
+    if [ -f "$DOCLERK_CDS" ]; then
+        OLDIFS=$IFS
+        IFS=:
+        for entry in $CLASSPATH; do
+            if [ "$entry" -nt "$DOCLERK_CDS" ]; then
+                rm -f "$DOCLERK_CDS"
+                break
+            fi
+        done
+        IFS=$OLDIFS
+    fi
+    # Older JVMs ignore these options and run without the archive
+    if [ -f "$DOCLERK_CDS" ]; then
+        set -- -XX:+IgnoreUnrecognizedVMOptions "-XX:SharedArchiveFile=$DOCLERK_CDS" "$@"
+    else
+        # Silences the warnings of the recording, on JVMs which know these log tags (JDK 13+)
+        if "$JAVA" -Xlog:cds=off -Xlog:cds+dynamic=off -version >/dev/null 2>&1; then
+            set -- -Xlog:cds=off -Xlog:cds+dynamic=off "$@"
+        fi
+        set -- -XX:+IgnoreUnrecognizedVMOptions "-XX:ArchiveClassesAtExit=$DOCLERK_CDS" "$@"
+    fi
+fi
+
+exec "$JAVA" "$@"
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import io.github.doclerk.core.expression.Diagnostics;
+import io.github.doclerk.core.expression.EvaluationError;
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.InvalidSyntaxException;
+import io.github.doclerk.core.model.DocPart;
+import java.io.IOException;
+
+/**
+ * A template field of a document part, parsed the first time it is evaluated.
+ */
+final class LazyTemplate implements Expression<String> {
+
+    private final DocPart part;
+    private final String source;
+    private volatile Expression<String> template;
+
+    LazyTemplate(DocPart part, String source) {
+        this.part = part;
+        this.source = source;
+    }
+
+    @Override
+    public String evaluate() {
+        return template().evaluate();
+    }
+
+    @Override
+    public void evaluateTo(Appendable out) throws IOException {
+        template().evaluateTo(out);
+    }
+
+    private Expression<String> template() {
+        Expression<String> result = template;
+        if (result == null) {
+            // Racing threads may both parse: they get equivalent templates
+            result = parse();
+            template = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the template, or if it cannot be parsed, an expression reporting
+     * the syntax error each time it is evaluated, as a failed part would be:
+     * the document being written is not aborted
+     */
+    private Expression<String> parse() {
+        try {
+            return Utils.template(part, source);
+        } catch (InvalidSyntaxException e) {
+            final EvaluationError error = new EvaluationError(source, 0, e.getMessage());
+            return () -> Diagnostics.report(error);
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.expression.CompiledExpression;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.TemplateFunction;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Dependencies between the properties of a test plan, through the macros they call.
+ */
+final class PropertyGraph {
+
+    private final Map<String, CompiledExpression<String>> properties;
+    private final Map<String, FunctionPrototype<?>> macros;
+    private final Map<String, Set<String>> edges = new HashMap<>();
+
+    /**
+     * @param properties the compiled property templates, by name
+     * @param macros the macros, by name
+     */
+    PropertyGraph(Map<String, CompiledExpression<String>> properties, Map<String, FunctionPrototype<?>> macros) {
+        this.properties = properties;
+        this.macros = macros;
+    }
+
+    /**
+     * Sorts the properties so that each one comes after those it depends on.
+     *
+     * @return the property names, in topological order
+     * @throws DoclerkException if properties depend on each other, or a macro
+     * calls itself, with the path of the cycle
+     */
+    List<String> order() {
+        final List<String> order = new ArrayList<>(properties.size());
+        final Set<String> done = new HashSet<>();
+        final Deque<String> path = new ArrayDeque<>();
+        for (String property : properties.keySet()) {
+            visit(property(property), done, path, order);
+        }
+        return order.stream()
+                .filter(node -> node.startsWith("&"))
+                .map(node -> node.substring(1))
+                .collect(Collectors.toList());
+    }
+
+    private void visit(String node, Set<String> done, Deque<String> path, List<String> order) {
+        if (done.contains(node)) {
+            return;
+        }
+        if (path.contains(node)) {
+            throw new DoclerkException((isMacroCycle(path, node) ? "Recursive macro: " : "Cyclic property definition: ") + cycle(path, node));
+        }
+        path.addLast(node);
+        for (String dependency : dependencies(node)) {
+            visit(dependency, done, path, order);
+        }
+        path.removeLast();
+        done.add(node);
+        order.add(node);
+    }
+
+    /**
+     * Nodes are named after the syntax referencing them: {@code &property}
+     * and {@code $macro}.
+     */
+    private Set<String> dependencies(String node) {
+        return edges.computeIfAbsent(node, n -> {
+            final Set<String> variables = new LinkedHashSet<>();
+            final Set<String> functions = new LinkedHashSet<>();
+            final String name = n.substring(1);
+            if (n.startsWith("&")) {
+                properties.get(name).collectReferences(variables, functions);
+            } else {
+                ((TemplateFunction) macros.get(name)).collectReferences(variables, functions);
+            }
+            final Set<String> dependencies = new LinkedHashSet<>();
+            variables.stream().filter(properties::containsKey).map(PropertyGraph::property).forEach(dependencies::add);
+            functions.stream().filter(f -> macros.get(f) instanceof TemplateFunction).map(f -> "$" + f).forEach(dependencies::add);
+            return dependencies;
+        });
+    }
+
+    private static String property(String name) {
+        return "&" + name;
+    }
+
+    /**
+     * @return whether the cycle closing on a node goes through a macro
+     */
+    private static boolean isMacroCycle(Deque<String> path, String node) {
+        boolean inCycle = false;
+        for (String n : path) {
+            inCycle |= n.equals(node);
+            if (inCycle && n.startsWith("$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String cycle(Deque<String> path, String node) {
+        final StringBuilder sb = new StringBuilder();
+        boolean inCycle = false;
+        for (String n : path) {
+            inCycle |= n.equals(node);
+            if (inCycle) {
+                sb.append(n).append(" -> ");
+            }
+        }
+        return sb.append(node).toString();
+    }
+
+}
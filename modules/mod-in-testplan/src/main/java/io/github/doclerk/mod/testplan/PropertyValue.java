@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import io.github.doclerk.core.expression.Diagnostics;
+import io.github.doclerk.core.expression.Expression;
+import java.io.IOException;
+
+/**
+ * The value of a test plan property, computed once when it is constant.
+ */
+final class PropertyValue implements Expression<String> {
+
+    private final Expression<String> template;
+    private final boolean constant;
+    private volatile String value;
+
+    PropertyValue(Expression<String> template, boolean constant) {
+        this.template = template;
+        this.constant = constant;
+    }
+
+    /**
+     * Computes and caches the value of a constant property. A value whose
+     * evaluation fails is not cached: the failure is reported each time the
+     * property is rendered, as it would be without caching.
+     */
+    void preload() {
+        if (!constant || value != null) {
+            return;
+        }
+        final Diagnostics diagnostics = new Diagnostics();
+        try {
+            final String computed = diagnostics.collect(template::evaluate);
+            if (diagnostics.isEmpty()) {
+                value = computed;
+            }
+        } catch (RuntimeException e) {
+            // Not cached
+        }
+    }
+
+    @Override
+    public String evaluate() {
+        final String cached = value;
+        return cached != null ? cached : template.evaluate();
+    }
+
+    @Override
+    public void evaluateTo(Appendable out) throws IOException {
+        final String cached = value;
+        if (cached != null) {
+            out.append(cached);
+        } else {
+            template.evaluateTo(out);
+        }
+    }
+
+}
@@ -17,19 +17,18 @@ package io.github.doclerk.mod.testplan;
 
 import io.github.doclerk.core.model.DocRoot;
 import io.github.doclerk.core.module.AbstractModule;
-import io.github.doclerk.core.module.DoclerkModuleInfo;
 import io.github.doclerk.core.module.HashMapModuleContext;
 import io.github.doclerk.core.module.ModuleContext;
 import io.github.doclerk.core.module.ModuleContextKeys;
-import io.github.doclerk.core.module.SimpleDoclerkModuleInfo;
+import io.github.doclerk.core.module.ModuleInfo;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
+@ModuleInfo(name = "TestPlan", version = "dev")
 public class TestPlanModule extends AbstractModule<TestPlanModule> {
 
-    private static final SimpleDoclerkModuleInfo MODULE_INFO = new SimpleDoclerkModuleInfo("TestPlan", "dev");
     private static final String CONTEXT_SCOPE_TESTPLAN = "testplan.";
     private static final String CONTEXT_KEY_ROOT_YML = CONTEXT_SCOPE_TESTPLAN + "root";
     private static final String DEFAULT_INPUT_URI = ".";
@@ -40,11 +39,6 @@ public class TestPlanModule extends AbstractModule<TestPlanModule> {
         return new TestPlanYamlDocRoot(Paths.get(getSourceUri()));
     }
 
-    @Override
-    public DoclerkModuleInfo moduleInfo() {
-        return MODULE_INFO;
-    }
-
     @Override
     protected ModuleContext defaultContext() {
         Map<String, String> defaultContext = new HashMap<>(1);
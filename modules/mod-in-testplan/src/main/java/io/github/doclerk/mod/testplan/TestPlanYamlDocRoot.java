@@ -20,19 +20,29 @@ import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.expression.CompiledExpression;
+import io.github.doclerk.core.expression.ConstantFolder;
 import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.ExpressionContext;
 import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.InvalidSyntaxException;
 import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.NativeFunctions;
+import io.github.doclerk.core.expression.TemplateCache;
+import io.github.doclerk.core.expression.TemplateFunction;
 import io.github.doclerk.core.expression.TemplateStringExpression;
 import io.github.doclerk.core.model.DocPart;
 import io.github.doclerk.core.model.DocParts;
@@ -43,11 +53,14 @@ import org.snakeyaml.engine.v2.api.LoadSettings;
 public class TestPlanYamlDocRoot implements DocRoot {
 
     private String id;
-    private String title;
-    private Set<DocPart> sections;
-    private Map<String, Expression<?>> properties;
-    private Map<String, FunctionPrototype<?>> macros;
+    // Final, and never modified once the constructor returns: a loaded test
+    // plan may be shared by threads rendering it concurrently
+    private final String title;
+    private final Set<DocPart> sections;
+    private final Map<String, Expression<?>> properties;
+    private final Map<String, FunctionPrototype<?>> macros;
     private final MapContext rootContext;
+    private final ConstantFolder folder;
 
     public TestPlanYamlDocRoot(Path input) {
         try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
@@ -60,22 +73,31 @@ public class TestPlanYamlDocRoot implements DocRoot {
             }
 
             @SuppressWarnings("unchecked")
-            final Map<String, String> propMap = (Map<String, String>) root.getOrDefault("properties", Collections.emptyMap());
-            properties = readProperties(propMap);
+            final Map<String, String> propDefs = (Map<String, String>) root.getOrDefault("properties", Collections.emptyMap());
+            final Map<String, String> propMap = propDefs != null ? propDefs : Collections.emptyMap();
 
             @SuppressWarnings("unchecked")
             final List<String> macroList = (List<String>) root.getOrDefault("macros", Collections.emptyList());
             Set<Path> macroFolders = new LinkedHashSet<>(macroList.size() + 1);
             macroFolders.add(input.getParent().resolve("macro"));
             macroList.forEach(folder -> macroFolders.add(input.getParent().resolve(folder).normalize().toAbsolutePath()));
-            macros = readMacros(macroFolders);
+            final Map<String, FunctionPrototype<?>> macroMap = readMacros(macroFolders);
+            final Map<String, CompiledExpression<String>> compiledProperties = compileProperties(propMap);
+            final List<String> propertyOrder = new PropertyGraph(compiledProperties, macroMap).order();
+            final Set<String> constantProperties = markPureMacros(compiledProperties, macroMap);
+            macros = Collections.unmodifiableMap(macroMap);
+            final Map<String, PropertyValue> propertyValues = readProperties(propMap, constantProperties);
+            properties = Collections.<String, Expression<?>>unmodifiableMap(propertyValues);
             rootContext = new MapContext(null, properties, macros);
+            folder = new ConstantFolder(rootContext, constantProperties::contains, name -> isPure(macros, name));
+            // Dependencies first: each constant property is evaluated exactly once
+            propertyOrder.stream().map(propertyValues::get).filter(Objects::nonNull).forEach(PropertyValue::preload);
 
             title = (String) root.get("title");
 
             @SuppressWarnings("unchecked")
             final Map<String, ?> sectionMap = (Map<String, ?>) root.get("sections");
-            sections = readSections(sectionMap, input);
+            sections = Collections.unmodifiableSet(readSections(sectionMap, input));
 
         } catch (IOException e) {
             throw new DoclerkException("Failed to read Yaml root", e);
@@ -112,6 +134,18 @@ public class TestPlanYamlDocRoot implements DocRoot {
         return rootContext;
     }
 
+    /**
+     * Creates a template bound to the root context. The parts of the template
+     * which only depend on constant properties and pure macros are evaluated
+     * once and for all.
+     *
+     * @param source the template source
+     * @return the template
+     */
+    public Expression<String> template(String source) {
+        return folder.template(source);
+    }
+
     protected TestPlanYamlSection readSection(String id, Map<String, Object> node, Path folder) {
         @SuppressWarnings("unchecked")
         final String nodeTitle = (String) node.get("title");
@@ -138,44 +172,147 @@ public class TestPlanYamlDocRoot implements DocRoot {
         return result;
     }
 
-    private <T> FunctionPrototype<T> readMacro(Path path) {
+    private FunctionPrototype<String> readMacro(Path path) {
         try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
             LoadSettings settings = LoadSettings.builder().build();
             Load load = new Load(settings);
 
+            final Object loaded = load.loadFromReader(reader);
+            if (!(loaded instanceof Map)) {
+                throw new DoclerkException("Invalid macro definition file " + path.toString() + ": expected a mapping");
+            }
             @SuppressWarnings("unchecked")
-            Map<String, Object> macroDef = (Map<String, Object>) load.loadFromReader(reader);
-
-            return (args) -> {
-                @SuppressWarnings("unchecked")
-                final List<String> argNames = (List<String>) macroDef.get("args");
-                final Map<String, Expression<?>> params = new HashMap<>(8);
-                if (argNames != null && args != null) {
-                    int i = 0;
-                    for (Expression<?> arg : args) {
-                        params.put(argNames.get(i), arg);
-                        i++;
+            final Map<String, Object> macroDef = (Map<String, Object>) loaded;
+            final Object argDef = macroDef.get("args");
+            if (argDef != null && !(argDef instanceof List)) {
+                throw new DoclerkException("Invalid macro definition file " + path.toString() + ": 'args' must be a list");
+            }
+            final List<String> argNames = new ArrayList<>();
+            if (argDef != null) {
+                for (Object argName : (List<?>) argDef) {
+                    if (!(argName instanceof String)) {
+                        throw new DoclerkException("Invalid macro definition file " + path.toString() + ": invalid argument name " + argName);
                     }
+                    argNames.add((String) argName);
                 }
-                final String def = (String) macroDef.get("return");
-                @SuppressWarnings("unchecked")
-                final Expression<T> returnExpr = (Expression<T>) new TemplateStringExpression(def, new MapContext(rootContext, params, null));
-                return returnExpr.evaluate();
-            };
+            }
+            final Object def = macroDef.get("return");
+            if (!(def instanceof String)) {
+                throw new DoclerkException("Invalid macro definition file " + path.toString() + ": 'return' must be a string");
+            }
+            return new TemplateFunction(Utils.fileNameWithoutExtension(path, ".yml"), argNames, (String) def, this::getExpressionContext);
+        } catch (InvalidSyntaxException ex) {
+            throw new DoclerkException("Invalid macro definition file " + path.toString(), ex);
         } catch (IOException ex) {
             throw new DoclerkException("failed to read macro definition file" + path.toString(), ex);
         }
     }
 
-    private Map<String, Expression<?>> readProperties(final Map<String, String> propMap) {
-        return propMap != null
-                ? propMap.entrySet().stream().collect(
-                        Collectors.toMap(
-                                e -> e.getKey(),
-                                e -> new TemplateStringExpression(e.getValue(), rootContext)
-                        )
+    /**
+     * Marks as pure the macros whose body only depends on their arguments,
+     * constant properties and other pure macros or native functions. A property
+     * is constant when its own template only depends on constant properties and
+     * pure functions. An omitted argument falls back to the property of the same
+     * name: a macro is not pure if that property is not constant.
+     *
+     * @return the names of the constant properties
+     */
+    private static Set<String> markPureMacros(Map<String, CompiledExpression<String>> compiledProperties, Map<String, FunctionPrototype<?>> macros) {
+        final Set<String> constantProperties = new HashSet<>();
+        final Set<String> pureMacros = new HashSet<>();
+        NativeFunctions.getAll().keySet().stream()
+                .filter(name -> !macros.containsKey(name) && isPure(macros, name))
+                .forEach(pureMacros::add);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<String, CompiledExpression<String>> prop : compiledProperties.entrySet()) {
+                if (!constantProperties.contains(prop.getKey())
+                        && prop.getValue().isConstant(constantProperties::contains, pureMacros::contains)) {
+                    changed |= constantProperties.add(prop.getKey());
+                }
+            }
+            for (Map.Entry<String, FunctionPrototype<?>> macro : macros.entrySet()) {
+                if (!pureMacros.contains(macro.getKey())
+                        && macro.getValue() instanceof TemplateFunction
+                        && ((TemplateFunction) macro.getValue()).hasConstantBody(constantProperties::contains, pureMacros::contains)
+                        && ((TemplateFunction) macro.getValue()).getParameterNames().stream()
+                                .allMatch(arg -> !compiledProperties.containsKey(arg) || constantProperties.contains(arg))) {
+                    changed |= pureMacros.add(macro.getKey());
+                }
+            }
+        }
+        pureMacros.stream()
+                .filter(macros::containsKey)
+                .forEach(name -> macros.put(name, ((TemplateFunction) macros.get(name)).pure()));
+        return constantProperties;
+    }
+
+    /**
+     * @return whether the function a name refers to, a macro or else a native function, is pure
+     */
+    private static boolean isPure(Map<String, FunctionPrototype<?>> macros, String name) {
+        final FunctionPrototype<?> macro = macros.get(name);
+        return macro != null
+                ? macro.isPure()
+                : NativeFunctions.find(name).map(FunctionPrototype::isPure).orElse(false);
+    }
+
+    /**
+     * @return the compiled templates of the properties
+     * @throws InvalidSyntaxException if a property cannot be parsed
+     */
+    private static Map<String, CompiledExpression<String>> compileProperties(Map<String, String> propMap) {
+        final Map<String, CompiledExpression<String>> compiledProperties = new LinkedHashMap<>(propMap.size() * 2);
+        for (Map.Entry<String, String> prop : propMap.entrySet()) {
+            if (prop.getValue() != null) {
+                compiledProperties.put(prop.getKey(), TemplateCache.getInstance().get(prop.getValue()));
+            }
+        }
+        return compiledProperties;
+    }
+
+    private Map<String, PropertyValue> readProperties(final Map<String, String> propMap, Set<String> constantProperties) {
+        final ExpressionContext propertyContext = propertyContext();
+        return propMap.entrySet().stream().collect(
+                Collectors.toMap(
+                        e -> e.getKey(),
+                        e -> new PropertyValue(new TemplateStringExpression(e.getValue(), propertyContext), constantProperties.contains(e.getKey()))
                 )
-                : Collections.emptyMap();
+        );
+    }
+
+    /**
+     * Properties are created before the root context which holds them: they are
+     * bound to this view of the root context instead.
+     */
+    private ExpressionContext propertyContext() {
+        return new ExpressionContext() {
+            @Override
+            public <T> Expression<T> getVar(String key) {
+                return getExpressionContext().getVar(key);
+            }
+
+            @Override
+            public <T> FunctionPrototype<T> getFunction(String name) {
+                return getExpressionContext().getFunction(name);
+            }
+
+            @Override
+            public <T> Optional<Expression<T>> findVar(String key) {
+                return getExpressionContext().findVar(key);
+            }
+
+            @Override
+            public <T> Optional<FunctionPrototype<T>> findFunction(String name) {
+                return getExpressionContext().findFunction(name);
+            }
+
+            @Override
+            public boolean isImmutable() {
+                return true;
+            }
+        };
     }
 
     private Set<DocPart> readSections(final Map<String, ?> sectionMap, Path input) {
@@ -24,8 +24,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import io.github.doclerk.core.expression.Expression;
-import io.github.doclerk.core.expression.ExpressionContext;
-import io.github.doclerk.core.expression.TemplateStringExpression;
 import io.github.doclerk.core.model.DocPart;
 import io.github.doclerk.core.model.DocParts;
 
@@ -42,10 +40,9 @@ public class TestPlanYamlScenario implements DocParts {
         this.parent = parent;
         this.id = id;
 
-        final ExpressionContext ec = getRoot().getExpressionContext();
-        this.title = new TemplateStringExpression((String) data.get("title"), ec);
-        this.goal = new TemplateStringExpression((String) data.get("goal"), ec);
-        this.context = new TemplateStringExpression((String) data.get("context"), ec);
+        this.title = Utils.lazyTemplate(this, (String) data.get("title"));
+        this.goal = Utils.lazyTemplate(this, (String) data.get("goal"));
+        this.context = Utils.lazyTemplate(this, (String) data.get("context"));
 
         Optional<List<?>> stepList = Optional.ofNullable((List<?>) data.get("steps"));
         steps = stepList.orElse(Collections.emptyList()).stream()
@@ -30,7 +30,6 @@ import io.github.doclerk.core.model.DocPart;
 import io.github.doclerk.core.model.DocParts;
 import io.github.doclerk.core.model.DocRoot;
 import io.github.doclerk.core.expression.Expression;
-import io.github.doclerk.core.expression.TemplateStringExpression;
 import java.util.stream.Stream;
 import org.snakeyaml.engine.v2.api.Load;
 import org.snakeyaml.engine.v2.api.LoadSettings;
@@ -45,7 +44,7 @@ public class TestPlanYamlSection implements DocParts {
     public TestPlanYamlSection(DocRoot root, String id, String title, Path folder) {
         this.root = root;
         this.id = id;
-        this.title = new TemplateStringExpression(title, root.getExpressionContext());
+        this.title = Utils.template(this, title);
         try (Stream<Path> files = Files.list(folder)) {
             scenarios = files.filter(Files::isRegularFile)
                     .filter(p -> p.getFileName().toString().endsWith(".yml"))
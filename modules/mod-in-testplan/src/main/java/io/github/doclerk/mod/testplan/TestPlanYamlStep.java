@@ -17,7 +17,6 @@ package io.github.doclerk.mod.testplan;
 
 import io.github.doclerk.core.model.DocParts;
 import io.github.doclerk.core.expression.Expression;
-import io.github.doclerk.core.expression.TemplateStringExpression;
 
 
 public class TestPlanYamlStep implements TestPlanStep {
@@ -34,7 +33,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     public TestPlanYamlStep(DocParts parent, String id, String title) {
         this.parent = parent;
         this.id = id;
-        this.title = new TemplateStringExpression(title, getRoot().getExpressionContext());
+        this.title = Utils.lazyTemplate(this, title);
     }
 
     @Override
@@ -53,7 +52,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     }
 
     public void setDescription(String description) {
-        this.description = new TemplateStringExpression(description, getRoot().getExpressionContext());
+        this.description = Utils.lazyTemplate(this, description);
     }
 
     @Override
@@ -62,7 +61,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     }
 
     public void setExpectedResult(String expectedResult) {
-        this.expectedResult = new TemplateStringExpression(expectedResult, getRoot().getExpressionContext());
+        this.expectedResult = Utils.lazyTemplate(this, expectedResult);
     }
 
     @Override
@@ -71,7 +70,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     }
 
     public void setRequiredData(String requiredData) {
-        this.requiredData = new TemplateStringExpression(requiredData, getRoot().getExpressionContext());
+        this.requiredData = Utils.lazyTemplate(this, requiredData);
     }
 
     @Override
@@ -80,7 +79,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     }
 
     public void setPreCondition(String preCondition) {
-        this.preCondition = new TemplateStringExpression(preCondition, getRoot().getExpressionContext());
+        this.preCondition = Utils.lazyTemplate(this, preCondition);
     }
 
     @Override
@@ -89,7 +88,7 @@ public class TestPlanYamlStep implements TestPlanStep {
     }
 
     public void setComment(String comment) {
-        this.comment = new TemplateStringExpression(comment, getRoot().getExpressionContext());
+        this.comment = Utils.lazyTemplate(this, comment);
     }
 
     @Override
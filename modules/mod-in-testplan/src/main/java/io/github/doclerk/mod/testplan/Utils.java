@@ -16,6 +16,10 @@
 package io.github.doclerk.mod.testplan;
 
 import java.nio.file.Path;
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.TemplateStringExpression;
+import io.github.doclerk.core.model.DocPart;
+import io.github.doclerk.core.model.DocRoot;
 
 
 public class Utils {
@@ -28,4 +32,31 @@ public class Utils {
         return fileName.substring(0, fileName.lastIndexOf(ext));
     }
 
+    /**
+     * Creates a template bound to the root context of a part.
+     *
+     * @param part the part the template belongs to
+     * @param source the template source
+     * @return the template, with its constant parts folded if the root is a test plan
+     */
+    public static Expression<String> template(DocPart part, String source) {
+        final DocRoot root = part.getRoot();
+        return root instanceof TestPlanYamlDocRoot
+                ? ((TestPlanYamlDocRoot) root).template(source)
+                : new TemplateStringExpression(source, root.getExpressionContext());
+    }
+
+    /**
+     * Creates a template bound to the root context of a part, parsed the first
+     * time it is evaluated.
+     *
+     * @param part the part the template belongs to
+     * @param source the template source
+     * @return the template
+     * @see #template(DocPart, String)
+     */
+    public static Expression<String> lazyTemplate(DocPart part, String source) {
+        return new LazyTemplate(part, source);
+    }
+
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.doclerk.core.expression.Diagnostics;
+import io.github.doclerk.core.expression.EvaluationError;
+import io.github.doclerk.core.expression.TemplateCache;
+import io.github.doclerk.core.model.DocPart;
+import io.github.doclerk.core.model.DocParts;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LazyTemplateTest {
+
+    private static TestPlanYamlStep loadStep() throws URISyntaxException {
+        final TestPlanYamlDocRoot root = new TestPlanYamlDocRoot(Paths.get(LazyTemplateTest.class.getResource("/plans/fields/root.yml").toURI()));
+        final DocParts section = (DocParts) root.getParts().iterator().next();
+        final DocParts scenario = (DocParts) section.getParts().iterator().next();
+        final DocPart step = scenario.getParts().iterator().next();
+        return (TestPlanYamlStep) step;
+    }
+
+    @Test
+    public void testUnrenderedFieldsAreNotParsed() throws URISyntaxException {
+        final TemplateCache cache = TemplateCache.getInstance();
+        // Loading does not parse the fields, even the malformed one
+        final TestPlanYamlStep step = loadStep();
+        final long misses = cache.getMissCount();
+        assertEquals("Open DOCLERK", step.getTitle());
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals("lazytemplatetest", step.getExpectedResult());
+        assertEquals(misses + 2, cache.getMissCount());
+    }
+
+    @Test
+    public void testMalformedFieldIsAnEvaluationError() throws URISyntaxException {
+        final TestPlanYamlStep step = loadStep();
+        final String message = "Unexpected token '&' encountered in call to function upper. Expected: ',' or ')'";
+        assertEquals(message, step.getDescription());
+        final Diagnostics diagnostics = new Diagnostics();
+        assertEquals("", diagnostics.collect(step::getDescription));
+        final List<EvaluationError> errors = diagnostics.getErrors();
+        assertEquals(1, errors.size());
+        assertEquals("$upper(&app &app)", errors.get(0).getSource());
+        assertEquals(message, errors.get(0).getReason());
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.expression.CompiledExpression;
+import io.github.doclerk.core.expression.FunctionPrototype;
+import io.github.doclerk.core.expression.TemplateCache;
+import io.github.doclerk.core.expression.TemplateFunction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class PropertyGraphTest {
+
+    private final Map<String, CompiledExpression<String>> properties = new LinkedHashMap<>();
+    private final Map<String, FunctionPrototype<?>> macros = new HashMap<>();
+
+    private void property(String name, String template) {
+        properties.put(name, TemplateCache.getInstance().get(template));
+    }
+
+    private void macro(String name, String body) {
+        macros.put(name, new TemplateFunction(name, Collections.singletonList("x"), body, () -> null));
+    }
+
+    @Test
+    public void testOrder() {
+        property("url", "&host/&app");
+        macro("link", "<&url>");
+        property("page", "$link(\"home\")");
+        property("host", "localhost");
+        property("app", "doclerk");
+        assertEquals(Arrays.asList("host", "app", "url", "page"), new PropertyGraph(properties, macros).order());
+    }
+
+    @Test
+    public void testCyclicProperties() {
+        property("a", "&b");
+        property("b", "$upper(&a)");
+        final DoclerkException e = assertThrows(DoclerkException.class, () -> new PropertyGraph(properties, macros).order());
+        assertEquals("Cyclic property definition: &a -> &b -> &a", e.getMessage());
+    }
+
+    @Test
+    public void testRecursiveMacro() {
+        macro("loop", "[$loop(&x)]");
+        property("a", "$loop(\"x\")");
+        final DoclerkException e = assertThrows(DoclerkException.class, () -> new PropertyGraph(properties, macros).order());
+        assertEquals("Recursive macro: $loop -> $loop", e.getMessage());
+    }
+
+}
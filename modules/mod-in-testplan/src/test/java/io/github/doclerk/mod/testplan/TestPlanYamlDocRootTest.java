@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 piercemar.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.doclerk.mod.testplan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.doclerk.core.exception.DoclerkException;
+import io.github.doclerk.core.expression.Expression;
+import io.github.doclerk.core.expression.InvalidSyntaxException;
+import io.github.doclerk.core.expression.MapContext;
+import io.github.doclerk.core.expression.Profiler;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+
+public class TestPlanYamlDocRootTest {
+
+    private static Path resource(String name) {
+        try {
+            return Paths.get(TestPlanYamlDocRootTest.class.getResource("/plans/" + name).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TestPlanYamlDocRoot load(String plan) {
+        return new TestPlanYamlDocRoot(resource(plan + "/root.yml"));
+    }
+
+    private static DoclerkException loadInvalid(String plan, String reason) {
+        final DoclerkException e = assertThrows(DoclerkException.class, () -> load("invalid/" + plan));
+        assertEquals("Invalid macro definition file " + resource("invalid/" + plan + "/macro/bad.yml") + reason, e.getMessage());
+        return e;
+    }
+
+    private static long calls(Profiler profiler, String variable) {
+        return profiler.getEntries().stream()
+                .filter(entry -> Profiler.VARIABLE.equals(entry.getKind()) && variable.equals(entry.getName()))
+                .mapToLong(Profiler.Entry::getCalls)
+                .sum();
+    }
+
+    @Test
+    public void testConstantPropertiesEvaluatedOnce() {
+        final Profiler profiler = Profiler.start();
+        try {
+            final TestPlanYamlDocRoot root = load("properties");
+            final Expression<String> template = root.template("&greeting, &greeting");
+            for (int i = 0; i < 10; i++) {
+                assertEquals("Hello root, Hello root", template.evaluate());
+            }
+            // Only the preloading evaluated the body of greeting
+            assertEquals(1, calls(profiler, "user"));
+            final Expression<String> label = root.template("&label");
+            assertNotEquals(label.evaluate(), label.evaluate());
+            assertEquals(2, calls(profiler, "ticket"));
+        } finally {
+            Profiler.stop();
+        }
+    }
+
+    @Test
+    public void testOmittedMacroArgument() {
+        final TestPlanYamlDocRoot root = load("macros");
+        final MapContext context = root.getExpressionContext();
+        assertEquals("Log in as root", root.template("$login()").evaluate());
+        assertEquals("Log in as root", context.getVar("greeting").evaluate());
+        assertTrue(context.getFunction("login").isPure());
+        // Its argument falls back to a property which is not constant
+        assertFalse(context.getFunction("resume").isPure());
+    }
+
+    @Test
+    public void testMacroNotAMapping() {
+        loadInvalid("mapping", ": expected a mapping");
+    }
+
+    @Test
+    public void testMacroArgsNotAList() {
+        loadInvalid("args", ": 'args' must be a list");
+    }
+
+    @Test
+    public void testMacroInvalidArgumentName() {
+        loadInvalid("argname", ": invalid argument name 42");
+    }
+
+    @Test
+    public void testMacroWithoutReturn() {
+        loadInvalid("noreturn", ": 'return' must be a string");
+    }
+
+    @Test
+    public void testMacroReturnNotAString() {
+        loadInvalid("return", ": 'return' must be a string");
+    }
+
+    @Test
+    public void testMacroUnparsableBody() {
+        final DoclerkException e = loadInvalid("body", "");
+        assertTrue(e.getCause() instanceof InvalidSyntaxException);
+        assertEquals("Unexpected token '&' encountered in call to function upper. Expected: ',' or ')'", e.getCause().getMessage());
+    }
+
+}
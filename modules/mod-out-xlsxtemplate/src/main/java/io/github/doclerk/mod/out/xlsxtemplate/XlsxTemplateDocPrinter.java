@@ -15,6 +15,7 @@
  */
 package io.github.doclerk.mod.out.xlsxtemplate;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -38,9 +39,20 @@ public class XlsxTemplateDocPrinter implements DocPrinter {
 
     protected final OutputStream out;
     private final URL templateURL;
+    private final byte[] template;
 
     public XlsxTemplateDocPrinter(URL templateURL, OutputStream out) {
+        this(templateURL, null, out);
+    }
+
+    /**
+     * @param templateURL the template location, used in error messages
+     * @param template the template content, read from the location if {@code null}
+     * @param out the output stream
+     */
+    public XlsxTemplateDocPrinter(URL templateURL, byte[] template, OutputStream out) {
         this.templateURL = templateURL;
+        this.template = template;
         this.out = out;
     }
 
@@ -69,7 +81,7 @@ public class XlsxTemplateDocPrinter implements DocPrinter {
         sheetNames.add("Légendes");
         beansList.add(context);
 
-        try (InputStream templateStream = templateURL.openStream()) {
+        try (InputStream templateStream = template != null ? new ByteArrayInputStream(template) : templateURL.openStream()) {
             ExcelTransformer transformer = new ExcelTransformer();
             transformer.addCellListener(new TestPlanXlsxCellPostProcessor());
             Workbook wb = transformer.transform(
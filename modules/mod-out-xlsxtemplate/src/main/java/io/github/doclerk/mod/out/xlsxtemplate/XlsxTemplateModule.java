@@ -21,10 +21,12 @@ import io.github.doclerk.core.module.AbstractModule;
 import io.github.doclerk.core.module.HashMapModuleContext;
 import io.github.doclerk.core.module.ModuleContext;
 import io.github.doclerk.core.module.ModuleContextKeys;
-import io.github.doclerk.core.module.DoclerkModuleInfo;
-import io.github.doclerk.core.module.SimpleDoclerkModuleInfo;
+import io.github.doclerk.core.module.ModuleInfo;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -36,10 +38,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+@ModuleInfo(name = "XlsxTemplate", version = "dev")
 public class XlsxTemplateModule extends AbstractModule<XlsxTemplateModule> {
 
-    private static final SimpleDoclerkModuleInfo MODULE_INFO = new SimpleDoclerkModuleInfo("XlsxTemplate", "dev");
     private static final String CONTEXT_SCOPE_XLSXTEMPLATE = "xlsxtemplate.";
     private static final String CONTEXT_KEY_NAME = CONTEXT_SCOPE_XLSXTEMPLATE + "name";
     private static final String CONTEXT_KEY_TEMPLATE_URI = CONTEXT_SCOPE_XLSXTEMPLATE + "template";
@@ -47,22 +50,63 @@ public class XlsxTemplateModule extends AbstractModule<XlsxTemplateModule> {
     private static final String DEFAULT_TEMPLATE_URI = "classpath:/template.xlsx";
     private static final String DEFAULT_OUTPUT_URI = ".";
 
+    // Template contents by URI, read once between open() and close(), shared by the runs
+    private Map<URI, byte[]> templates;
+
+    @Override
+    public void open(ModuleContext ctx) {
+        super.open(ctx);
+        templates = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    protected void share(XlsxTemplateModule module) {
+        templates = module.templates;
+    }
+
+    @Override
+    public void close() {
+        if (templates != null) {
+            templates.clear();
+            templates = null;
+        }
+    }
+
     @Override
     public DocRoot run(DocRoot root) {
         try (OutputStream out = getOutputStream()) {
-            final URL templateURL = getTemplateUri().toURL();
-            final XlsxTemplateDocPrinter docPrinter = new XlsxTemplateDocPrinter(templateURL, out);
+            final URI templateUri = getTemplateUri();
+            final URL templateURL = templateUri.toURL();
+            final XlsxTemplateDocPrinter docPrinter = new XlsxTemplateDocPrinter(templateURL, getTemplate(templateUri), out);
             docPrinter.print(root);
             return root;
-        } catch (URISyntaxException | IOException ex) {
+        } catch (URISyntaxException | IOException | UncheckedIOException ex) {
             throw new TransformationException("Failed to generate testplan", ex);
         }
 
     }
 
-    @Override
-    public DoclerkModuleInfo moduleInfo() {
-        return MODULE_INFO;
+    /**
+     * @return the template content if the module is open, {@code null} otherwise
+     */
+    private byte[] getTemplate(URI templateUri) {
+        final Map<URI, byte[]> openTemplates = templates;
+        if (openTemplates == null) {
+            return null;
+        }
+        return openTemplates.computeIfAbsent(templateUri, uri -> {
+            try (InputStream in = uri.toURL().openStream()) {
+                final ByteArrayOutputStream content = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    content.write(buffer, 0, read);
+                }
+                return content.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     @Override